@@ -0,0 +1,172 @@
+package classification.data;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Bildet die Konstanten eines {@link Label}-Enums auf dichte ganzzahlige Codes
+ * im Bereich {@code 0} bis {@code size() - 1} ab und umgekehrt.
+ * Der Code einer Konstanten entspricht hierbei ihrer Ordinalzahl.
+ * <br>
+ * Die Namen der Labels werden hierbei einmalig aufgelöst, sodass sich der
+ * Text einer Spalte ohne einen Aufruf von {@code toString()} je Zeile einem
+ * Label zuordnen lässt.
+ * Mit Hilfe eines {@code LabelDictionary}s lassen sich die Labels eines
+ * Datensatzes außerdem platzsparend als primitive Spalte
+ * ({@link LabelColumn}) speichern.
+ * <br>
+ * Für jedes Enum existiert genau ein {@code LabelDictionary}, das über
+ * {@link #of(Class)} abgefragt werden kann.
+ *
+ * @author Kim Berninger
+ * @version 1.1.0
+ *
+ * @param <L> das Enum, dessen Konstanten kodiert werden sollen
+ *
+ * @see LabelColumn
+ */
+public final class LabelDictionary<L extends Enum<L> & Label> {
+    private static final ClassValue<LabelDictionary<?>> DICTIONARIES =
+        new ClassValue<>() {
+            @Override
+            @SuppressWarnings({"unchecked", "rawtypes"})
+            protected LabelDictionary<?> computeValue(Class<?> type) {
+                return new LabelDictionary(type);
+            }
+        };
+
+    private L[] labels;
+    private Map<String, L> names;
+    private char[][] nameChars;
+
+    private LabelDictionary(Class<L> labelType) {
+        labels = labelType.getEnumConstants();
+        names = new HashMap<>();
+        nameChars = new char[labels.length][];
+        for (var label : labels) {
+            names.put(label.toString(), label);
+            nameChars[label.ordinal()] = label.toString().toCharArray();
+        }
+    }
+
+    /**
+     * Liefert das {@code LabelDictionary} des übergebenen Enums.
+     *
+     * @param <L>       das Enum, dessen Konstanten kodiert werden sollen
+     * @param labelType die {@link Class}-Instanz des Enums
+     *
+     * @return das {@code LabelDictionary} des Enums
+     *
+     * @throws IllegalArgumentException falls {@code labelType} kein Enum ist
+     */
+    @SuppressWarnings("unchecked")
+    public static <L extends Enum<L> & Label> LabelDictionary<L> of(
+        Class<L> labelType) {
+        if (!labelType.isEnum()) {
+            throw new IllegalArgumentException(
+                labelType.getName() + " ist kein Enum");
+        }
+        return (LabelDictionary<L>) DICTIONARIES.get(labelType);
+    }
+
+    /**
+     * Liefert die Anzahl der unterschiedlichen Labels in diesem Wörterbuch.
+     *
+     * @return die Anzahl der Labels
+     */
+    public int size() {
+        return labels.length;
+    }
+
+    /**
+     * Liefert den Code des übergebenen Labels.
+     *
+     * @param label das zu kodierende Label
+     *
+     * @return den Code des Labels
+     */
+    public int encode(L label) {
+        return label.ordinal();
+    }
+
+    /**
+     * Liefert das Label, das dem übergebenen Code entspricht.
+     *
+     * @param code der Code des gesuchten Labels
+     *
+     * @return das Label mit dem übergebenen Code
+     *
+     * @throws IndexOutOfBoundsException falls es kein Label mit diesem Code
+     *                                   gibt
+     */
+    public L decode(int code) {
+        return labels[code];
+    }
+
+    /**
+     * Sucht das Label, dessen Ergebnis von {@link Object#toString()} dem
+     * übergebenen Namen entspricht, und liefert dessen Code.
+     * Die Zuordnung wird einmalig beim Erzeugen dieses Wörterbuchs berechnet.
+     *
+     * @param name der Name des gesuchten Labels
+     *
+     * @return den Code des Labels oder {@code -1}, falls kein Label diesen
+     *         Namen trägt
+     */
+    public int lookup(CharSequence name) {
+        var label = names.get(name.toString());
+        return label == null ? -1 : label.ordinal();
+    }
+
+    /**
+     * Sucht das Label, dessen Ergebnis von {@link Object#toString()} den
+     * Zeichen von {@code start} (inklusive) bis {@code end} (exklusive) des
+     * übergebenen Puffers entspricht, und liefert dessen Code.
+     * Im Gegensatz zu {@link #lookup(CharSequence)} wird hierfür kein
+     * {@code String} erzeugt.
+     *
+     * @param buffer der Puffer, in dem der Name steht
+     * @param start  die Position des ersten Zeichens des Namens
+     * @param end    die Position hinter dem letzten Zeichen des Namens
+     *
+     * @return den Code des Labels oder {@code -1}, falls kein Label diesen
+     *         Namen trägt
+     */
+    public int lookup(char[] buffer, int start, int end) {
+        for (var code = 0; code < nameChars.length; code++) {
+            if (Arrays.equals(nameChars[code], 0, nameChars[code].length,
+                buffer, start, end)) {
+                return code;
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * Erzeugt eine leere {@link LabelColumn}, deren Codes sich auf dieses
+     * Wörterbuch beziehen.
+     *
+     * @return eine neue, leere Label-Spalte
+     */
+    public LabelColumn<L> newColumn() {
+        return new LabelColumn<>(this);
+    }
+
+    /**
+     * Kodiert die Labels aller Datenpunkte des übergebenen Datensatzes in der
+     * Iterationsreihenfolge des Datensatzes.
+     *
+     * @param data der Datensatz, dessen Labels kodiert werden sollen
+     *
+     * @return eine {@link LabelColumn} mit den Codes der Labels
+     */
+    public LabelColumn<L> encode(
+        Dataset<? extends SupervisedSample<?, ? extends L>> data) {
+        var column = newColumn();
+        for (var sample : data) {
+            column.add(sample.getLabel());
+        }
+        return column;
+    }
+}
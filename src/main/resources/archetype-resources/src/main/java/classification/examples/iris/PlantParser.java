@@ -1,5 +1,7 @@
 package classification.examples.iris;
 
+import classification.io.CSVTokenizer;
+import classification.io.RangeSampleParser;
 import classification.io.SampleParser;
 
 /**
@@ -12,7 +14,8 @@ import classification.io.SampleParser;
  * @author Kim Berninger
  * @version 1.1.0
  */
-public class PlantParser implements SampleParser<IrisPlant> {
+public class PlantParser
+    implements SampleParser<IrisPlant>, RangeSampleParser<IrisPlant> {
     @Override
     public IrisPlant parse(String[] values) {
         var sepalLength = Double.parseDouble(values[0]);
@@ -22,4 +25,14 @@ public class PlantParser implements SampleParser<IrisPlant> {
 
         return new IrisPlant(sepalLength, sepalWidth, petalLength, petalWidth);
     }
+
+    @Override
+    public IrisPlant parse(CSVTokenizer row) {
+        var sepalLength = row.parseDouble(0);
+        var sepalWidth = row.parseDouble(1);
+        var petalLength = row.parseDouble(2);
+        var petalWidth = row.parseDouble(3);
+
+        return new IrisPlant(sepalLength, sepalWidth, petalLength, petalWidth);
+    }
 }
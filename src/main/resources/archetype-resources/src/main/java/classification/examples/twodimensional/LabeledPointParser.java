@@ -1,10 +1,10 @@
 package classification.examples.twodimensional;
 
-import java.util.Arrays;
-
 import classification.data.BinaryLabel;
 import classification.data.SupervisedSample;
 
+import classification.io.CSVTokenizer;
+import classification.io.RangeSampleParser;
 import classification.io.SampleParser;
 
 /**
@@ -20,14 +20,15 @@ import classification.io.SampleParser;
  * @version 1.1.0
  */
 public class LabeledPointParser
-    implements SampleParser<SupervisedSample<Point, BinaryLabel>> {
+    implements SampleParser<SupervisedSample<Point, BinaryLabel>>,
+    RangeSampleParser<SupervisedSample<Point, BinaryLabel>> {
     private static final String POSITIVE_CLASS_NAME = "p";
     
     private PointParser parser = new PointParser();
 
     @Override
     public SupervisedSample<Point, BinaryLabel> parse(String[] values) {
-        var point = parser.parse(Arrays.copyOfRange(values, 0, 2));
+        var point = parser.parse(values);
 
         var label = values[2].equals(POSITIVE_CLASS_NAME)
             ? BinaryLabel.POSITIVE
@@ -35,4 +36,15 @@ public class LabeledPointParser
 
         return new SupervisedSample<>(point, label);
     }
+
+    @Override
+    public SupervisedSample<Point, BinaryLabel> parse(CSVTokenizer row) {
+        var point = parser.parse(row);
+
+        var label = row.fieldEquals(2, POSITIVE_CLASS_NAME)
+            ? BinaryLabel.POSITIVE
+            : BinaryLabel.NEGATIVE;
+
+        return new SupervisedSample<>(point, label);
+    }
 }
@@ -1,5 +1,7 @@
 package classification.examples.twodimensional;
 
+import classification.io.CSVTokenizer;
+import classification.io.RangeSampleParser;
 import classification.io.SampleParser;
 
 /**
@@ -11,11 +13,19 @@ import classification.io.SampleParser;
  * @author Kim Berninger
  * @version 1.1.0
  */
-public class PointParser implements SampleParser<Point> {
+public class PointParser
+    implements SampleParser<Point>, RangeSampleParser<Point> {
     @Override
     public Point parse(String[] values) {
         var x = Double.parseDouble(values[0]);
         var y = Double.parseDouble(values[1]);
         return new Point(x, y);
     }
+
+    @Override
+    public Point parse(CSVTokenizer row) {
+        var x = row.parseDouble(0);
+        var y = row.parseDouble(1);
+        return new Point(x, y);
+    }
 }
@@ -0,0 +1,408 @@
+package classification.io;
+
+import java.io.ByteArrayInputStream;
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.ClosedWatchServiceException;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.nio.file.WatchService;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+
+import static java.nio.file.StandardWatchEventKinds.ENTRY_CREATE;
+import static java.nio.file.StandardWatchEventKinds.ENTRY_MODIFY;
+
+import classification.data.Sample;
+
+/**
+ * Verfolgt eine CSV-Datei, an die fortlaufend Zeilen angehängt werden, und
+ * übergibt die Datenpunkte neuer Zeilen blockweise an einen Abonnenten, zum
+ * Beispiel an ein Modell, das online weiter trainiert wird.
+ * <br>
+ * Nach {@link #start()} überwacht ein Hintergrund-Thread das Verzeichnis der
+ * Datei mit einem {@link WatchService} und liest bei jeder Änderung nur die
+ * Bytes ab der zuletzt gelesenen Position.
+ * Bereits gelesene Zeilen werden also nie erneut gelesen.
+ * Da nicht jedes Dateisystem Änderungen zuverlässig oder sofort meldet, wird
+ * die Datei zusätzlich nach Ablauf des Abfrageintervalls geprüft.
+ * <br>
+ * Es werden nur vollständige Zeilen gelesen, also solche, auf die bereits ein
+ * Zeilenumbruch folgt.
+ * Eine Zeile, die gerade erst teilweise geschrieben wurde, wird erst gelesen,
+ * sobald sie vollständig ist.
+ * Verwendet der {@link CSVReader} Anführungszeichen nach RFC 4180, so gelten
+ * Zeilenumbrüche innerhalb eines Elements nicht als Ende einer Zeile.
+ * <br>
+ * Die Zeilen werden mit dem {@link CSVReader} und dem {@link SampleParser}
+ * des übergebenen {@link CSVDatasetLoader}s umgewandelt.
+ * Hat die Datei eine Kopfzeile, so wird sie nur am Anfang der Datei erwartet
+ * und die gewählten Spalten werden einmalig anhand dieser Kopfzeile bestimmt.
+ * Der Abonnent wird im Hintergrund-Thread aufgerufen und erhält je Block eine
+ * neue Liste, die er behalten darf.
+ * Wird die Datei gekürzt, zum Beispiel weil sie neu angelegt wurde, so wird
+ * sie wieder von vorne gelesen.
+ * <br>
+ * Wirft der Parser oder der Abonnent eine Exception oder tritt beim Lesen ein
+ * Fehler auf, so wird die Verfolgung beendet und der Fehler von
+ * {@link #close()} geworfen.
+ *
+ * @author Kim Berninger
+ * @version 1.1.0
+ *
+ * @param <S> der Subtyp von {@link Sample}, dem die übergebenen Datenpunkte
+ *            entsprechen sollen
+ */
+public class CSVTail<S extends Sample<?>> implements Closeable {
+    private static final int STANDARD_BATCH_SIZE = 1024;
+    private static final long STANDARD_POLL_INTERVAL = 1000;
+
+    private static final int INITIAL_BUFFER_SIZE = 1 << 16;
+
+    private CSVDatasetLoader<S> source;
+    private Consumer<? super List<S>> subscriber;
+    private int batchSize;
+    private long pollInterval;
+
+    private Path path;
+    private ByteBuffer buffer = ByteBuffer.allocate(INITIAL_BUFFER_SIZE);
+    private List<S> batch;
+    private CSVReader tailReader;
+
+    private volatile long position;
+    private volatile boolean closed;
+    private volatile Throwable failure;
+
+    private WatchService watcher;
+    private Thread thread;
+
+    /**
+     * Erzeugt einen {@code CSVTail}, der die Datei des übergebenen
+     * {@link CSVDatasetLoader}s von Anfang an liest und Blöcke von höchstens
+     * {@value #STANDARD_BATCH_SIZE} Datenpunkten übergibt.
+     * Die Datei wird spätestens alle {@value #STANDARD_POLL_INTERVAL}
+     * Millisekunden geprüft.
+     *
+     * @param source     der Loader, dessen Datei und Parser verwendet werden
+     *                   sollen
+     * @param subscriber der Abonnent, dem die Blöcke übergeben werden
+     *
+     * @throws IllegalArgumentException falls {@code source} nicht aus einer
+     *                                  gewöhnlichen Datei liest
+     */
+    public CSVTail(CSVDatasetLoader<S> source,
+        Consumer<? super List<S>> subscriber) {
+        this(source, subscriber, false, STANDARD_BATCH_SIZE,
+            STANDARD_POLL_INTERVAL);
+    }
+
+    /**
+     * Erzeugt einen {@code CSVTail}, der die Datei des übergebenen
+     * {@link CSVDatasetLoader}s verfolgt.
+     * Sollen die bereits vorhandenen Zeilen übersprungen werden, so beginnt
+     * das Lesen hinter der letzten vollständigen Zeile, die beim Erzeugen in
+     * der Datei steht.
+     * Verwendet der {@link CSVReader} Anführungszeichen, so wird hierfür die
+     * gesamte Datei einmal durchsucht, damit ein Zeilenumbruch innerhalb
+     * eines Elements in Anführungszeichen nicht als Ende einer Zeile gilt.
+     *
+     * @param source       der Loader, dessen Datei und Parser verwendet
+     *                     werden sollen
+     * @param subscriber   der Abonnent, dem die Blöcke übergeben werden
+     * @param skipExisting gibt an, ob die bereits vorhandenen Zeilen
+     *                     übersprungen werden sollen
+     * @param batchSize    die Anzahl der Datenpunkte, die höchstens in einem
+     *                     Block übergeben werden
+     * @param pollInterval die Anzahl der Millisekunden, nach denen die Datei
+     *                     spätestens geprüft wird
+     *
+     * @throws IllegalArgumentException falls {@code source} nicht aus einer
+     *                                  gewöhnlichen Datei liest oder
+     *                                  {@code batchSize} oder
+     *                                  {@code pollInterval} nicht positiv ist
+     * @throws UncheckedIOException     falls beim Überspringen der
+     *                                  vorhandenen Zeilen ein Fehler auftritt
+     */
+    public CSVTail(CSVDatasetLoader<S> source,
+        Consumer<? super List<S>> subscriber, boolean skipExisting,
+        int batchSize, long pollInterval) {
+        if (source.getFile() == null) {
+            throw new IllegalArgumentException(String.format(
+                "Die Quelle %s ist keine Datei", source.getSource()));
+        }
+        if (batchSize < 1) {
+            throw new IllegalArgumentException(
+                String.format("Ungültige Blockgröße: %d", batchSize));
+        }
+        if (pollInterval < 1) {
+            throw new IllegalArgumentException(String.format(
+                "Ungültiges Abfrageintervall: %d", pollInterval));
+        }
+        this.source = source;
+        this.subscriber = subscriber;
+        this.batchSize = batchSize;
+        this.pollInterval = pollInterval;
+        this.path = source.getFile().toPath().toAbsolutePath();
+
+        if (skipExisting) {
+            try {
+                position = existingEnd();
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+    }
+
+    /**
+     * Startet die Verfolgung der Datei in einem Hintergrund-Thread.
+     * Der Thread verhindert nicht das Beenden der Anwendung.
+     *
+     * @throws IOException           falls das Verzeichnis der Datei nicht
+     *                               überwacht werden kann
+     * @throws IllegalStateException falls die Verfolgung bereits gestartet
+     *                               wurde
+     */
+    public synchronized void start() throws IOException {
+        if (thread != null) {
+            throw new IllegalStateException(
+                "Die Verfolgung wurde bereits gestartet");
+        }
+
+        watcher = path.getFileSystem().newWatchService();
+        try {
+            path.getParent().register(watcher, ENTRY_CREATE, ENTRY_MODIFY);
+        } catch (IOException e) {
+            watcher.close();
+            throw e;
+        }
+
+        thread = new Thread(this::follow, "Tail " + path.getFileName());
+        thread.setDaemon(true);
+        thread.start();
+    }
+
+    /**
+     * Liefert die Position in der Datei, bis zu der sie bereits gelesen
+     * wurde.
+     *
+     * @return die Anzahl der gelesenen Bytes
+     */
+    public long getPosition() {
+        return position;
+    }
+
+    /**
+     * Prüft, ob die Datei noch verfolgt wird.
+     *
+     * @return {@code true}, falls die Verfolgung gestartet und weder beendet
+     *         noch durch einen Fehler abgebrochen wurde
+     */
+    public synchronized boolean isRunning() {
+        return thread != null && thread.isAlive();
+    }
+
+    /**
+     * Beendet die Verfolgung der Datei und wartet, bis der Abonnent den
+     * aktuellen Block verarbeitet hat.
+     *
+     * @throws IOException falls die Verfolgung durch einen Fehler beim Lesen
+     *                     abgebrochen wurde
+     */
+    @Override
+    public synchronized void close() throws IOException {
+        closed = true;
+        if (thread == null) {
+            return;
+        }
+
+        watcher.close();
+
+        var interrupted = false;
+        while (true) {
+            try {
+                thread.join();
+                break;
+            } catch (InterruptedException e) {
+                interrupted = true;
+            }
+        }
+        if (interrupted) {
+            Thread.currentThread().interrupt();
+        }
+
+        var cause = failure;
+        if (cause instanceof IOException) {
+            throw (IOException) cause;
+        }
+        if (cause instanceof RuntimeException) {
+            throw (RuntimeException) cause;
+        }
+        if (cause instanceof Error) {
+            throw (Error) cause;
+        }
+    }
+
+    private void follow() {
+        try {
+            while (!closed) {
+                readAppended();
+
+                var key = watcher.poll(pollInterval, TimeUnit.MILLISECONDS);
+                while (key != null) {
+                    key.pollEvents();
+                    key.reset();
+                    key = watcher.poll();
+                }
+            }
+        } catch (ClosedWatchServiceException | InterruptedException e) {
+            return;
+        } catch (Throwable e) {
+            failure = e;
+        }
+    }
+
+    private void readAppended() throws IOException {
+        try (var channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            var size = channel.size();
+            if (size < position) {
+                position = 0;
+                tailReader = null;
+            }
+
+            while (position < size && !closed) {
+                buffer.clear();
+                buffer.limit(
+                    (int) Math.min(size - position, buffer.capacity()));
+                while (buffer.hasRemaining()) {
+                    var offset = position + buffer.position();
+                    if (channel.read(buffer, offset) < 0) {
+                        break;
+                    }
+                }
+
+                var end = lastRecordEnd(buffer.array(), buffer.position());
+                if (end == 0) {
+                    if (buffer.position() < buffer.capacity()) {
+                        return;
+                    }
+                    buffer = ByteBuffer.allocate(2 * buffer.capacity());
+                    continue;
+                }
+
+                var reader = position == 0
+                    ? source.getReader()
+                    : tailReader();
+                publish(buffer.array(), end, reader);
+                position += end;
+            }
+        } catch (NoSuchFileException e) {
+            return;
+        }
+    }
+
+    private int lastRecordEnd(byte[] bytes, int length) {
+        var quote = source.getReader().getQuote();
+        var quoted = false;
+        var end = 0;
+        for (var i = 0; i < length; i++) {
+            if (bytes[i] == quote) {
+                quoted = !quoted;
+            } else if (bytes[i] == '\n' && !quoted) {
+                end = i + 1;
+            }
+        }
+        return end;
+    }
+
+    private long existingEnd() throws IOException {
+        try (var channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            return source.getReader().getQuote() < 0
+                ? lastLineEnd(channel)
+                : lastRecordEnd(channel);
+        } catch (NoSuchFileException e) {
+            return 0;
+        }
+    }
+
+    private static long lastLineEnd(FileChannel channel) throws IOException {
+        var bytes = ByteBuffer.allocate(INITIAL_BUFFER_SIZE);
+        var end = channel.size();
+        while (end > 0) {
+            var start = Math.max(0, end - bytes.capacity());
+            bytes.clear();
+            bytes.limit((int) (end - start));
+            while (bytes.hasRemaining()) {
+                if (channel.read(bytes, start + bytes.position()) < 0) {
+                    break;
+                }
+            }
+            for (var i = bytes.position() - 1; i >= 0; i--) {
+                if (bytes.get(i) == '\n') {
+                    return start + i + 1;
+                }
+            }
+            end = start;
+        }
+        return 0;
+    }
+
+    private long lastRecordEnd(FileChannel channel) throws IOException {
+        var quote = source.getReader().getQuote();
+        var bytes = ByteBuffer.allocate(INITIAL_BUFFER_SIZE);
+        var quoted = false;
+        var end = 0L;
+        var position = 0L;
+        while (true) {
+            bytes.clear();
+            var read = channel.read(bytes, position);
+            if (read < 0) {
+                return end;
+            }
+            for (var i = 0; i < read; i++) {
+                if (bytes.get(i) == quote) {
+                    quoted = !quoted;
+                } else if (bytes.get(i) == '\n' && !quoted) {
+                    end = position + i + 1;
+                }
+            }
+            position += read;
+        }
+    }
+
+    private CSVReader tailReader() throws IOException {
+        if (tailReader == null) {
+            tailReader = source.getReader().headless(source.getSource());
+        }
+        return tailReader;
+    }
+
+    private void publish(byte[] bytes, int length, CSVReader reader)
+        throws IOException {
+        var chunk = new CSVDatasetLoader<S>(
+            DataSource.of(new ByteArrayInputStream(bytes, 0, length),
+                source.getSource().getName()),
+            reader, source.getParser());
+
+        batch = new ArrayList<>(batchSize);
+        chunk.forEachSample(this::offer);
+        if (!batch.isEmpty()) {
+            subscriber.accept(batch);
+        }
+    }
+
+    private void offer(S sample) {
+        batch.add(sample);
+        if (batch.size() == batchSize) {
+            subscriber.accept(batch);
+            batch = new ArrayList<>(batchSize);
+        }
+    }
+}
@@ -0,0 +1,638 @@
+package classification.io;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.Reader;
+
+import java.util.Arrays;
+
+/**
+ * Zerlegt den Inhalt einer CSV-Datei zeilenweise an einem einzelnen
+ * Trennzeichen, ohne hierfür reguläre Ausdrücke zu verwenden.
+ * <br>
+ * Die Zeichen werden in einen wiederverwendeten Puffer gelesen, auf den
+ * {@link #getBuffer()} Zugriff gewährt.
+ * Nach jedem Aufruf von {@link #nextRow()} beschreiben
+ * {@link #getFieldStart(int)} und {@link #getFieldEnd(int)} die Grenzen der
+ * Elemente der aktuellen Zeile in diesem Puffer.
+ * Solange nur diese Positionen verwendet werden, erzeugt ein
+ * {@code CSVTokenizer} beim Lesen keinerlei Objekte.
+ * Erst {@link #getField(int)} und {@link #getFields(String[])} erzeugen
+ * {@code String}s für die einzelnen Elemente.
+ * <br>
+ * Wie bei {@link CSVReader} werden Leerzeilen übersprungen und Leerraum am
+ * Anfang und Ende einer Zeile ignoriert.
+ * Leere Elemente am Ende einer Zeile werden, genau wie bei
+ * {@link String#split(String)}, nicht mitgezählt.
+ * <br>
+ * Wird ein Anführungszeichen übergeben, so werden die Zeilen nach
+ * <a href="https://www.rfc-editor.org/rfc/rfc4180">RFC 4180</a> zerlegt.
+ * Elemente, die mit dem Anführungszeichen beginnen, dürfen dann das
+ * Trennzeichen und Zeilenumbrüche enthalten, wobei ein verdoppeltes
+ * Anführungszeichen für ein einzelnes steht.
+ * Die Anführungszeichen werden hierbei in einem einzigen Durchlauf direkt im
+ * Puffer entfernt, sodass auch diese Elemente als zusammenhängende Bereiche
+ * des Puffers vorliegen.
+ * In diesem Modus werden leere Elemente am Ende einer Zeile mitgezählt und
+ * eine Zeile, die mitten in einem Element endet, wird bis zum Ende der
+ * Eingabe fortgesetzt.
+ * <br>
+ * Wählt der {@link CSVReader}, der einen {@code CSVTokenizer} erzeugt, nur
+ * einzelne Spalten aus, so beziehen sich alle Indizes auf diese Auswahl.
+ * Die übrigen Elemente werden hierbei übersprungen, ohne dass für sie
+ * {@code String}s erzeugt werden, und ohne Anführungszeichen wird eine Zeile
+ * nur bis zur letzten gewählten Spalte zerlegt.
+ * <br>
+ * Der Inhalt des Puffers sowie die Positionen sind nur bis zum nächsten Aufruf
+ * von {@link #nextRow()} gültig.
+ *
+ * @author Kim Berninger
+ * @version 1.1.0
+ *
+ * @see CSVReader#CSVReader(char)
+ */
+public class CSVTokenizer implements Closeable {
+    private static final int INITIAL_BUFFER_SIZE = 1 << 16;
+    private static final int INITIAL_FIELD_COUNT = 16;
+
+    private static final int FIELD_START = 0;
+    private static final int UNQUOTED = 1;
+    private static final int QUOTED = 2;
+    private static final int QUOTE_IN_QUOTED = 3;
+
+    private Reader input;
+    private char separator;
+    private char quote;
+    private boolean quoting;
+
+    private char[] buffer;
+    private int position;
+    private int limit;
+    private boolean endOfInput;
+    private boolean skipLineFeed;
+
+    private int lineStart;
+    private int lineEnd;
+
+    private int[] fieldStarts = new int[INITIAL_FIELD_COUNT];
+    private int[] fieldEnds = new int[INITIAL_FIELD_COUNT];
+    private int fieldCount;
+
+    private int[] selection;
+    private int columnLimit = Integer.MAX_VALUE;
+    private int[] selectedStarts;
+    private int[] selectedEnds;
+    private boolean replay;
+
+    private long lineNumber;
+    private long lineCount;
+
+    private boolean collecting;
+    private String error;
+
+    /**
+     * Erzeugt einen neuen {@code CSVTokenizer}, der die Zeichen des
+     * übergebenen {@link Reader}s am übergebenen Trennzeichen zerlegt.
+     *
+     * @param input     die Quelle der zu zerlegenden Zeichen
+     * @param separator das Zeichen, an dem eine Zeile geteilt werden soll
+     */
+    public CSVTokenizer(Reader input, char separator) {
+        this.input = input;
+        this.separator = separator;
+        buffer = new char[INITIAL_BUFFER_SIZE];
+    }
+
+    /**
+     * Erzeugt einen neuen {@code CSVTokenizer}, der die Zeichen des
+     * übergebenen {@link Reader}s nach RFC 4180 am übergebenen Trennzeichen
+     * zerlegt und Elemente in Anführungszeichen berücksichtigt.
+     *
+     * @param input     die Quelle der zu zerlegenden Zeichen
+     * @param separator das Zeichen, an dem eine Zeile geteilt werden soll
+     * @param quote     das Zeichen, mit dem Elemente eingeschlossen werden
+     *
+     * @throws IllegalArgumentException falls Trennzeichen und
+     *                                  Anführungszeichen übereinstimmen
+     */
+    public CSVTokenizer(Reader input, char separator, char quote) {
+        this(input, separator);
+        if (quote == separator) {
+            throw new IllegalArgumentException(String.format(
+                "Trennzeichen und Anführungszeichen sind identisch: %c",
+                quote));
+        }
+        this.quote = quote;
+        this.quoting = true;
+    }
+
+    CSVTokenizer(char[] content, int length, char separator) {
+        this.separator = separator;
+        buffer = content;
+        limit = length;
+        endOfInput = true;
+    }
+
+    /**
+     * Liest die nächste nichtleere Zeile und zerlegt sie in ihre Elemente.
+     *
+     * @return {@code true}, falls eine weitere Zeile gelesen wurde, und
+     *         {@code false}, falls das Ende der Eingabe erreicht ist
+     *
+     * @throws IOException falls beim Lesen ein Fehler auftritt
+     */
+    public boolean nextRow() throws IOException {
+        error = null;
+
+        if (replay) {
+            replay = false;
+            return true;
+        }
+
+        if (quoting) {
+            if (!readRecord()) {
+                return false;
+            }
+            applySelection();
+            return true;
+        }
+
+        while (readLine()) {
+            lineNumber++;
+
+            while (lineStart < lineEnd
+                && Character.isWhitespace(buffer[lineStart])) {
+                lineStart++;
+            }
+            while (lineEnd > lineStart
+                && Character.isWhitespace(buffer[lineEnd - 1])) {
+                lineEnd--;
+            }
+
+            if (lineStart < lineEnd) {
+                split(lineStart, lineEnd);
+                applySelection();
+                return true;
+            }
+        }
+
+        fieldCount = 0;
+        return false;
+    }
+
+    private boolean readLine() throws IOException {
+        var scan = position;
+        while (true) {
+            if (scan == limit) {
+                scan -= fill();
+                if (scan == limit) {
+                    if (position == limit) {
+                        return false;
+                    }
+                    lineStart = position;
+                    lineEnd = limit;
+                    position = limit;
+                    return true;
+                }
+            }
+
+            var c = buffer[scan];
+
+            if (skipLineFeed) {
+                skipLineFeed = false;
+                if (c == '\n') {
+                    position++;
+                    scan++;
+                    continue;
+                }
+            }
+
+            if (c == '\n' || c == '\r') {
+                skipLineFeed = c == '\r';
+                lineStart = position;
+                lineEnd = scan;
+                position = scan + 1;
+                return true;
+            }
+
+            scan++;
+        }
+    }
+
+    private boolean readRecord() throws IOException {
+        fieldCount = 0;
+
+        while (true) {
+            if (position == limit) {
+                fill();
+                if (position == limit) {
+                    return false;
+                }
+            }
+
+            var c = buffer[position];
+            if (c == '\n' && skipLineFeed) {
+                skipLineFeed = false;
+            } else if (c == '\n' || c == '\r') {
+                skipLineFeed = c == '\r';
+                lineCount++;
+            } else if (c == separator || !Character.isWhitespace(c)) {
+                break;
+            } else {
+                skipLineFeed = false;
+            }
+            position++;
+        }
+
+        skipLineFeed = false;
+        lineNumber = lineCount + 1;
+
+        var read = position;
+        var write = position;
+        var fieldStart = write;
+        var quotedEnd = write;
+        var state = FIELD_START;
+        var carriageReturn = false;
+
+        while (true) {
+            if (read == limit) {
+                var offset = fill();
+                read -= offset;
+                write -= offset;
+                fieldStart -= offset;
+                quotedEnd -= offset;
+                for (var i = 0; i < fieldCount; i++) {
+                    fieldStarts[i] -= offset;
+                    fieldEnds[i] -= offset;
+                }
+                if (read == limit) {
+                    break;
+                }
+            }
+
+            var c = buffer[read++];
+
+            if (state == QUOTED) {
+                if (c == quote) {
+                    state = QUOTE_IN_QUOTED;
+                } else {
+                    if (c == '\r' || c == '\n' && !carriageReturn) {
+                        lineCount++;
+                    }
+                    carriageReturn = c == '\r';
+                    buffer[write++] = c;
+                }
+            } else if (state == QUOTE_IN_QUOTED && c == quote) {
+                buffer[write++] = quote;
+                state = QUOTED;
+            } else if (state == FIELD_START && c == quote) {
+                carriageReturn = false;
+                state = QUOTED;
+            } else {
+                if (state == QUOTE_IN_QUOTED) {
+                    quotedEnd = write;
+                }
+                if (c == separator) {
+                    addField(fieldStart, write);
+                    fieldStart = write;
+                    quotedEnd = write;
+                    state = FIELD_START;
+                } else if (c == '\n' || c == '\r') {
+                    skipLineFeed = c == '\r';
+                    lineCount++;
+                    break;
+                } else {
+                    buffer[write++] = c;
+                    state = UNQUOTED;
+                }
+            }
+        }
+
+        while (write > quotedEnd && Character.isWhitespace(buffer[write - 1])
+            && buffer[write - 1] != separator) {
+            write--;
+        }
+        addField(fieldStart, write);
+
+        position = read;
+        return true;
+    }
+
+    private int fill() throws IOException {
+        if (endOfInput) {
+            return 0;
+        }
+
+        var offset = position;
+        if (offset > 0) {
+            System.arraycopy(buffer, offset, buffer, 0, limit - offset);
+            limit -= offset;
+            position = 0;
+        }
+
+        if (limit == buffer.length) {
+            buffer = Arrays.copyOf(buffer, 2 * buffer.length);
+        }
+
+        var read = input.read(buffer, limit, buffer.length - limit);
+        if (read < 0) {
+            endOfInput = true;
+        } else {
+            limit += read;
+        }
+
+        return offset;
+    }
+
+    private void split(int start, int end) {
+        fieldCount = 0;
+
+        var fieldStart = start;
+        for (var i = start; i < end; i++) {
+            if (buffer[i] == separator) {
+                addField(fieldStart, i);
+                if (fieldCount == columnLimit) {
+                    if (!onlySeparators(i + 1, end)) {
+                        return;
+                    }
+                    break;
+                }
+                fieldStart = i + 1;
+            }
+        }
+        if (fieldCount < columnLimit) {
+            addField(fieldStart, end);
+        }
+
+        while (fieldCount > 0
+            && fieldStarts[fieldCount - 1] == fieldEnds[fieldCount - 1]) {
+            fieldCount--;
+        }
+    }
+
+    private boolean onlySeparators(int start, int end) {
+        for (var i = start; i < end; i++) {
+            if (buffer[i] != separator) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private void applySelection() {
+        if (selection == null) {
+            return;
+        }
+
+        var count = selection.length;
+        for (var i = 0; i < selection.length; i++) {
+            var column = selection[i];
+            if (column >= fieldCount) {
+                count = i;
+                break;
+            }
+            selectedStarts[i] = fieldStarts[column];
+            selectedEnds[i] = fieldEnds[column];
+        }
+
+        var starts = fieldStarts;
+        var ends = fieldEnds;
+        fieldStarts = selectedStarts;
+        fieldEnds = selectedEnds;
+        selectedStarts = starts;
+        selectedEnds = ends;
+        fieldCount = count;
+    }
+
+    void select(int[] columns) {
+        var limit = 0;
+        for (var column : columns) {
+            limit = Math.max(limit, column + 1);
+        }
+
+        selection = columns;
+        columnLimit = limit;
+        selectedStarts = new int[Math.max(INITIAL_FIELD_COUNT,
+            Math.max(limit, columns.length))];
+        selectedEnds = new int[selectedStarts.length];
+        if (fieldStarts.length < columns.length) {
+            fieldStarts = Arrays.copyOf(fieldStarts, columns.length);
+            fieldEnds = Arrays.copyOf(fieldEnds, columns.length);
+        }
+        applySelection();
+    }
+
+    void replay() {
+        replay = true;
+    }
+
+    private void addField(int start, int end) {
+        if (fieldCount == fieldStarts.length) {
+            fieldStarts = Arrays.copyOf(fieldStarts, 2 * fieldCount);
+            fieldEnds = Arrays.copyOf(fieldEnds, 2 * fieldCount);
+        }
+        fieldStarts[fieldCount] = start;
+        fieldEnds[fieldCount] = end;
+        fieldCount++;
+    }
+
+    /**
+     * Liefert den Puffer, in dem sich die Zeichen der aktuellen Zeile
+     * befinden.
+     *
+     * @return den internen Zeichenpuffer dieses {@code CSVTokenizer}s
+     */
+    public char[] getBuffer() {
+        return buffer;
+    }
+
+    /**
+     * Liefert die Anzahl der Elemente in der aktuellen Zeile.
+     *
+     * @return die Anzahl der Elemente
+     */
+    public int getFieldCount() {
+        return fieldCount;
+    }
+
+    /**
+     * Liefert die Position des ersten Zeichens des {@code i}-ten Elements im
+     * Puffer.
+     *
+     * @param i der Index des Elements in der aktuellen Zeile
+     *
+     * @return die Startposition des Elements (inklusive)
+     *
+     * @throws IndexOutOfBoundsException falls die Zeile kein {@code i}-tes
+     *                                   Element hat
+     */
+    public int getFieldStart(int i) {
+        return fieldStarts[checkIndex(i)];
+    }
+
+    /**
+     * Liefert die Position hinter dem letzten Zeichen des {@code i}-ten
+     * Elements im Puffer.
+     *
+     * @param i der Index des Elements in der aktuellen Zeile
+     *
+     * @return die Endposition des Elements (exklusive)
+     *
+     * @throws IndexOutOfBoundsException falls die Zeile kein {@code i}-tes
+     *                                   Element hat
+     */
+    public int getFieldEnd(int i) {
+        return fieldEnds[checkIndex(i)];
+    }
+
+    /**
+     * Erzeugt einen {@code String} mit dem Inhalt des {@code i}-ten Elements.
+     *
+     * @param i der Index des Elements in der aktuellen Zeile
+     *
+     * @return den Inhalt des Elements
+     *
+     * @throws IndexOutOfBoundsException falls die Zeile kein {@code i}-tes
+     *                                   Element hat
+     */
+    public String getField(int i) {
+        checkIndex(i);
+        return new String(buffer, fieldStarts[i],
+            fieldEnds[i] - fieldStarts[i]);
+    }
+
+    /**
+     * Liefert die Elemente der aktuellen Zeile als {@code String}-Array.
+     * Hat das übergebene Array genau die passende Länge, so wird es
+     * wiederverwendet, ansonsten wird ein neues erzeugt.
+     *
+     * @param reuse ein Array, das wiederverwendet werden darf, oder
+     *              {@code null}
+     *
+     * @return die Elemente der aktuellen Zeile
+     */
+    public String[] getFields(String[] reuse) {
+        var fields = reuse != null && reuse.length == fieldCount
+            ? reuse
+            : new String[fieldCount];
+        for (var i = 0; i < fieldCount; i++) {
+            fields[i] = getField(i);
+        }
+        return fields;
+    }
+
+    /**
+     * Parst das {@code i}-te Element der aktuellen Zeile als {@code double},
+     * ohne hierfür einen {@code String} zu erzeugen.
+     *
+     * @param i der Index des Elements in der aktuellen Zeile
+     *
+     * @return den Wert des Elements oder {@link Double#NaN}, falls es keine
+     *         gültige Zahl enthält
+     *
+     * @throws IndexOutOfBoundsException falls die Zeile kein {@code i}-tes
+     *                                   Element hat
+     *
+     * @see DoubleParser#parse(char[], int, int)
+     */
+    public double getDouble(int i) {
+        checkIndex(i);
+        return DoubleParser.parse(buffer, fieldStarts[i], fieldEnds[i]);
+    }
+
+    /**
+     * Parst das {@code i}-te Element der aktuellen Zeile wie
+     * {@link #getDouble(int)} als {@code double}, wirft aber wie
+     * {@link Double#parseDouble(String)} eine Exception, falls es keine
+     * gültige Zahl enthält.
+     *
+     * @param i der Index des Elements in der aktuellen Zeile
+     *
+     * @return den Wert des Elements
+     *
+     * @throws NumberFormatException     falls das Element keine gültige Zahl
+     *                                   enthält
+     * @throws IndexOutOfBoundsException falls die Zeile kein {@code i}-tes
+     *                                   Element hat
+     */
+    public double parseDouble(int i) {
+        checkIndex(i);
+        var start = fieldStarts[i];
+        var end = fieldEnds[i];
+        var value = DoubleParser.parse(buffer, start, end);
+        if (Double.isNaN(value) && !DoubleParser.isNaN(buffer, start, end)) {
+            var message = String.format(
+                "Ungültige Zahl in Spalte %d: \"%s\"", i, getField(i));
+            if (!collecting) {
+                throw new NumberFormatException(message);
+            }
+            if (error == null) {
+                error = message;
+            }
+        }
+        return value;
+    }
+
+    void collectErrors() {
+        collecting = true;
+    }
+
+    String getError() {
+        return error;
+    }
+
+    /**
+     * Prüft, ob das {@code i}-te Element der aktuellen Zeile der übergebenen
+     * Zeichenkette entspricht, ohne hierfür einen {@code String} zu erzeugen.
+     *
+     * @param i     der Index des Elements in der aktuellen Zeile
+     * @param value die zu vergleichende Zeichenkette
+     *
+     * @return {@code true}, falls das Element genau aus den Zeichen von
+     *         {@code value} besteht
+     *
+     * @throws IndexOutOfBoundsException falls die Zeile kein {@code i}-tes
+     *                                   Element hat
+     */
+    public boolean fieldEquals(int i, CharSequence value) {
+        checkIndex(i);
+        var start = fieldStarts[i];
+        if (fieldEnds[i] - start != value.length()) {
+            return false;
+        }
+        for (var j = 0; j < value.length(); j++) {
+            if (buffer[start + j] != value.charAt(j)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Liefert die Nummer der Zeile in der Eingabe, die zuletzt von
+     * {@link #nextRow()} gelesen wurde.
+     * Übersprungene Leerzeilen werden hierbei mitgezählt.
+     * Erstreckt sich eine Zeile wegen eines Elements in Anführungszeichen
+     * über mehrere Zeilen der Eingabe, so wird die Nummer ihrer ersten Zeile
+     * geliefert.
+     *
+     * @return die Zeilennummer, beginnend bei {@code 1}
+     */
+    public long getLineNumber() {
+        return lineNumber;
+    }
+
+    private int checkIndex(int i) {
+        if (i < 0 || i >= fieldCount) {
+            throw new IndexOutOfBoundsException(i);
+        }
+        return i;
+    }
+
+    @Override
+    public void close() throws IOException {
+        if (input != null) {
+            input.close();
+        }
+    }
+}
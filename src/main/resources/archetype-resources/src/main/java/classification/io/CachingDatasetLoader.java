@@ -0,0 +1,378 @@
+package classification.io;
+
+import java.io.BufferedOutputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.DoubleBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+
+import classification.data.Dataset;
+import classification.data.Sample;
+
+/**
+ * Beschleunigt das wiederholte Laden eines Datensatzes mit einem
+ * {@link CSVDatasetLoader}, indem die gelesenen Spalten in einer binären
+ * Cache-Datei abgelegt werden.
+ * <br>
+ * Beim ersten Laden wird die CSV-Datei anhand des {@link RowSchema}s des
+ * zugrunde liegenden {@link SchemaParser}s spaltenweise gelesen und in die
+ * Cache-Datei geschrieben.
+ * Bei jedem weiteren Laden wird nur noch die Cache-Datei mit
+ * {@link FileChannel#map} in den Speicher abgebildet, sodass die CSV-Datei
+ * weder zerlegt noch geparst werden muss.
+ * Abgebildet wird sie erst, nachdem ihre Kopfdaten gelesen und geprüft
+ * wurden, sodass eine veraltete Cache-Datei ersetzt werden kann, ohne dass
+ * eine Abbildung sie noch geöffnet hält.
+ * <br>
+ * Der Cache ist an den absoluten Pfad, den Zeitpunkt der letzten Änderung und
+ * die Größe der CSV-Datei sowie an das Trennzeichen, die Kopfzeile und die
+ * gewählten Spalten des {@link CSVReader}s und an das Schema des Parsers
+ * gebunden.
+ * Ändert sich einer dieser Werte, so wird die Cache-Datei beim nächsten Laden
+ * automatisch neu erzeugt.
+ * Da der Cache die typisierten Spalten und nicht die Datenpunkte selbst
+ * enthält, teilen sich Parser mit demselben Schema, aber unterschiedlichen
+ * Abbildungen, dieselbe Cache-Datei.
+ * <br>
+ * Label-Spalten dürfen hierbei nur bekannte Labels enthalten.
+ * <br>
+ * Liest der zugrunde liegende Loader nicht aus einer gewöhnlichen Datei,
+ * sondern zum Beispiel aus einem JAR-Archiv oder einem Stream, so lässt sich
+ * die Aktualität eines Caches nicht prüfen.
+ * Der Datensatz wird in diesem Fall ohne Cache geladen.
+ * Ressourcen aus dem Klassenpfad werden nur mit einem ausdrücklich
+ * angegebenen Cache-Verzeichnis zwischengespeichert, damit keine
+ * Cache-Dateien zwischen den kompilierten Klassen abgelegt werden.
+ * <br>
+ * Eine Cache-Datei, deren Inhalt nicht zu ihren Kopfdaten passt, wird wie
+ * eine veraltete neu erzeugt.
+ * Lässt sich auch die neu erzeugte Cache-Datei nicht lesen, so wird eine
+ * {@link UncheckedIOException} geworfen.
+ *
+ * @author Kim Berninger
+ * @version 1.1.0
+ *
+ * @param <S> der Subtyp von {@link Sample}, dem die Elemente des erzeugten
+ *            Datensatzes entsprechen sollen
+ *
+ * @see SchemaParser
+ * @see ColumnBuffer
+ */
+public class CachingDatasetLoader<S extends Sample<?>>
+    implements DatasetLoader<S> {
+    private static final int MAGIC = 0x48303843;
+    private static final int VERSION = 1;
+
+    private static final String CACHE_SUFFIX = ".cache";
+
+    private static final int BYTE_CODES = 1 << Byte.SIZE;
+
+    private CSVDatasetLoader<S> source;
+    private SchemaParser<? extends S> parser;
+    private File cacheDirectory;
+
+    /**
+     * Erzeugt einen {@code CachingDatasetLoader}, der die Cache-Datei im
+     * selben Verzeichnis wie die CSV-Datei des übergebenen
+     * {@link CSVDatasetLoader}s ablegt.
+     * Liest dieser eine Ressource aus dem Klassenpfad, so wird der Datensatz
+     * ohne Cache geladen.
+     *
+     * @param source der Loader, dessen Datei, Trennzeichen und Parser
+     *               verwendet werden sollen
+     *
+     * @throws IllegalArgumentException falls {@code source} keinen
+     *                                  {@link SchemaParser} verwendet
+     */
+    public CachingDatasetLoader(CSVDatasetLoader<S> source) {
+        this(source, source.getFile() == null
+            || source.getSource().isResource()
+            ? null
+            : source.getFile().getAbsoluteFile().getParentFile());
+    }
+
+    /**
+     * Erzeugt einen {@code CachingDatasetLoader}, der die Cache-Datei im
+     * übergebenen Verzeichnis ablegt.
+     *
+     * @param source         der Loader, dessen Datei, Trennzeichen und Parser
+     *                       verwendet werden sollen
+     * @param cacheDirectory das Verzeichnis, in dem die Cache-Datei abgelegt
+     *                       werden soll
+     *
+     * @throws IllegalArgumentException falls {@code source} keinen
+     *                                  {@link SchemaParser} verwendet
+     */
+    @SuppressWarnings("unchecked")
+    public CachingDatasetLoader(CSVDatasetLoader<S> source,
+        File cacheDirectory) {
+        if (!(source.getParser() instanceof SchemaParser<?>)) {
+            throw new IllegalArgumentException(
+                "Der CSVDatasetLoader verwendet keinen SchemaParser");
+        }
+        this.source = source;
+        this.parser = (SchemaParser<? extends S>) source.getParser();
+        this.cacheDirectory = cacheDirectory;
+    }
+
+    @Override
+    public Dataset<S> loadDataset() {
+        if (source.getFile() == null || cacheDirectory == null) {
+            return source.loadDataset();
+        }
+
+        try {
+            var csvFile = source.getFile().getAbsoluteFile();
+            var key = cacheKey(csvFile);
+            var cacheFile = new File(cacheDirectory, String.format("%s-%08x%s",
+                csvFile.getName(), key.hashCode(), CACHE_SUFFIX));
+
+            var modified = csvFile.lastModified();
+            var length = csvFile.length();
+
+            var samples = readCache(cacheFile, key, modified, length);
+            if (samples == null) {
+                writeCache(cacheFile, key, modified, length);
+                samples = readCache(cacheFile, key, modified, length);
+                if (samples == null) {
+                    throw new IOException(String.format(
+                        "Die Cache-Datei %s konnte nicht gelesen werden",
+                        cacheFile));
+                }
+            }
+            return samples;
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private String cacheKey(File csvFile) {
+        return String.join("\n", csvFile.getPath(),
+            source.getReader().describe(),
+            parser.getSchema().describe());
+    }
+
+    private Dataset<S> readCache(File cacheFile, String key, long modified,
+        long length) throws IOException {
+        if (!cacheFile.isFile()) {
+            return null;
+        }
+
+        try (var channel = FileChannel.open(
+            cacheFile.toPath(), StandardOpenOption.READ)) {
+            var header = ByteBuffer.allocate(headerSize(key));
+            while (header.hasRemaining()) {
+                if (channel.read(header) < 0) {
+                    return null;
+                }
+            }
+            header.flip();
+
+            Columns columns;
+            try {
+                var rows = readHeader(header, key, modified, length);
+                if (rows < 0) {
+                    return null;
+                }
+
+                var buffer = channel.map(FileChannel.MapMode.READ_ONLY,
+                    header.limit(), channel.size() - header.limit());
+                columns = readColumns(buffer, rows);
+            } catch (BufferUnderflowException | IllegalArgumentException e) {
+                return null;
+            }
+            if (columns == null) {
+                return null;
+            }
+
+            Dataset<S> samples = CSVDatasetLoader.createDataset();
+            var row = parser.getSchema().newRow();
+            for (var r = 0; r < columns.rows; r++) {
+                columns.read(r, row);
+                samples.add(parser.map(row));
+            }
+            return samples;
+        }
+    }
+
+    private static int headerSize(String key) {
+        return 3 * Integer.BYTES + key.length() * Character.BYTES
+            + 2 * Long.BYTES + Integer.BYTES;
+    }
+
+    private static int readHeader(ByteBuffer header, String key,
+        long modified, long length) {
+        if (header.getInt() != MAGIC || header.getInt() != VERSION
+            || !readString(header).equals(key)
+            || header.getLong() != modified
+            || header.getLong() != length) {
+            return -1;
+        }
+        return header.getInt();
+    }
+
+    private Columns readColumns(ByteBuffer buffer, int rows) {
+        var schema = parser.getSchema();
+
+        var doubles = new DoubleBuffer[schema.getDoubleCount()];
+        for (var i = 0; i < doubles.length; i++) {
+            doubles[i] = buffer.slice().asDoubleBuffer();
+            skip(buffer, (long) rows * Double.BYTES);
+        }
+
+        var labels = new ByteBuffer[schema.getLabelCount()];
+        var wide = new boolean[labels.length];
+        for (var i = 0; i < labels.length; i++) {
+            var size = schema.getDictionary(i).size();
+            wide[i] = size > BYTE_CODES;
+            labels[i] = buffer.slice();
+            skip(buffer, (long) rows * (wide[i] ? Short.BYTES : 1));
+            for (var r = 0; r < rows; r++) {
+                if (code(labels[i], wide[i], r) >= size) {
+                    return null;
+                }
+            }
+        }
+
+        var texts = new String[schema.getTextCount()][rows];
+        for (var i = 0; i < texts.length; i++) {
+            for (var r = 0; r < rows; r++) {
+                texts[i][r] = readString(buffer);
+            }
+        }
+
+        if (buffer.hasRemaining()) {
+            return null;
+        }
+        return new Columns(rows, doubles, labels, wide, texts);
+    }
+
+    private static int code(ByteBuffer labels, boolean wide, int row) {
+        return wide
+            ? Short.toUnsignedInt(labels.getShort(2 * row))
+            : Byte.toUnsignedInt(labels.get(row));
+    }
+
+    private static final class Columns {
+        private final int rows;
+        private final DoubleBuffer[] doubles;
+        private final ByteBuffer[] labels;
+        private final boolean[] wide;
+        private final String[][] texts;
+
+        private Columns(int rows, DoubleBuffer[] doubles, ByteBuffer[] labels,
+            boolean[] wide, String[][] texts) {
+            this.rows = rows;
+            this.doubles = doubles;
+            this.labels = labels;
+            this.wide = wide;
+            this.texts = texts;
+        }
+
+        private void read(int r, TypedRow row) {
+            for (var i = 0; i < doubles.length; i++) {
+                row.doubles[i] = doubles[i].get(r);
+            }
+            for (var i = 0; i < labels.length; i++) {
+                row.labelCodes[i] = code(labels[i], wide[i], r);
+            }
+            for (var i = 0; i < texts.length; i++) {
+                row.texts[i] = texts[i][r];
+            }
+        }
+    }
+
+    private void writeCache(File cacheFile, String key, long modified,
+        long length) throws IOException {
+        var schema = parser.getSchema();
+        var columns = source.getReader()
+            .readColumns(source.getSource(), schema);
+
+        Files.createDirectories(cacheDirectory.toPath());
+        var temporary = File.createTempFile(
+            cacheFile.getName(), ".tmp", cacheDirectory);
+
+        try {
+            try (var output = new DataOutputStream(new BufferedOutputStream(
+                Files.newOutputStream(temporary.toPath())))) {
+                output.writeInt(MAGIC);
+                output.writeInt(VERSION);
+                writeString(output, key);
+                output.writeLong(modified);
+                output.writeLong(length);
+
+                var rows = columns.size();
+                output.writeInt(rows);
+
+                for (var i = 0; i < schema.getDoubleCount(); i++) {
+                    for (var value : columns.getDoubles(i)) {
+                        output.writeDouble(value);
+                    }
+                }
+
+                for (var i = 0; i < schema.getLabelCount(); i++) {
+                    var wide = schema.getDictionary(i).size() > BYTE_CODES;
+                    var column = columns.getLabels(i);
+                    for (var r = 0; r < rows; r++) {
+                        if (wide) {
+                            output.writeShort(column.getCode(r));
+                        } else {
+                            output.writeByte(column.getCode(r));
+                        }
+                    }
+                }
+
+                for (var i = 0; i < schema.getTextCount(); i++) {
+                    for (var value : columns.getTexts(i)) {
+                        writeString(output, value);
+                    }
+                }
+            }
+
+            try {
+                Files.move(temporary.toPath(), cacheFile.toPath(),
+                    StandardCopyOption.REPLACE_EXISTING,
+                    StandardCopyOption.ATOMIC_MOVE);
+            } catch (AtomicMoveNotSupportedException e) {
+                Files.move(temporary.toPath(), cacheFile.toPath(),
+                    StandardCopyOption.REPLACE_EXISTING);
+            }
+        } finally {
+            Files.deleteIfExists(temporary.toPath());
+        }
+    }
+
+    private static void skip(ByteBuffer buffer, long bytes) {
+        if (bytes > buffer.remaining()) {
+            throw new BufferUnderflowException();
+        }
+        buffer.position(buffer.position() + (int) bytes);
+    }
+
+    private static String readString(ByteBuffer buffer) {
+        var length = buffer.getInt();
+        if (length < 0 || (long) length * Character.BYTES
+            > buffer.remaining()) {
+            throw new BufferUnderflowException();
+        }
+        var chars = new char[length];
+        buffer.asCharBuffer().get(chars);
+        skip(buffer, (long) length * Character.BYTES);
+        return new String(chars);
+    }
+
+    private static void writeString(DataOutputStream output, String value)
+        throws IOException {
+        output.writeInt(value.length());
+        output.writeChars(value);
+    }
+}
@@ -0,0 +1,231 @@
+package classification.io;
+
+/**
+ * Parst {@code double}-Werte direkt aus einem Bereich eines Zeichenpuffers,
+ * ohne hierfür einen {@code String} zu erzeugen.
+ * <br>
+ * Dezimalzahlen, deren Ziffernfolge als ganze Zahl höchstens 2<sup>53</sup>
+ * ergibt und deren Zehnerexponent zwischen {@code -22} und {@code 22} liegt,
+ * wie sie in typischen CSV-Dateien vorkommen, werden mit dem schnellen
+ * Verfahren von
+ * <a href="https://doi.org/10.1145/93548.93557">Clinger</a> exakt berechnet.
+ * Alle übrigen gültigen Eingaben werden an {@link Double#parseDouble(String)}
+ * weitergereicht, sodass das Ergebnis stets korrekt gerundet ist.
+ * <br>
+ * Im Gegensatz zu {@link Double#parseDouble(String)} wird bei ungültigen
+ * Eingaben keine Exception geworfen, sondern {@link Double#NaN} geliefert.
+ *
+ * @author Kim Berninger
+ * @version 1.1.0
+ *
+ * @see RangeSampleParser
+ * @see CSVTokenizer#getDouble(int)
+ * @see CSVTokenizer#parseDouble(int)
+ */
+public final class DoubleParser {
+    private static final int MAX_DIGITS = 19;
+    private static final long MAX_EXACT_MANTISSA = 1L << 53;
+    private static final int MAX_EXACT_EXPONENT = 22;
+    private static final int MAX_EXPONENT = 100_000;
+
+    private static final double[] POWERS_OF_TEN = {
+        1e0, 1e1, 1e2, 1e3, 1e4, 1e5, 1e6, 1e7, 1e8, 1e9, 1e10, 1e11,
+        1e12, 1e13, 1e14, 1e15, 1e16, 1e17, 1e18, 1e19, 1e20, 1e21, 1e22
+    };
+
+    private DoubleParser() {
+    }
+
+    /**
+     * Parst den {@code double}-Wert, der in den Zeichen von {@code start}
+     * (inklusive) bis {@code end} (exklusive) des Puffers steht.
+     * Es werden dieselben Schreibweisen wie von
+     * {@link Double#parseDouble(String)} akzeptiert, einschließlich Leerraum
+     * am Anfang und Ende.
+     *
+     * @param buffer der Puffer, in dem die Zahl steht
+     * @param start  die Position des ersten Zeichens
+     * @param end    die Position hinter dem letzten Zeichen
+     *
+     * @return den geparsten Wert oder {@link Double#NaN}, falls die Zeichen
+     *         keine gültige Zahl darstellen
+     */
+    public static double parse(char[] buffer, int start, int end) {
+        while (start < end && buffer[start] <= ' ') {
+            start++;
+        }
+        while (end > start && buffer[end - 1] <= ' ') {
+            end--;
+        }
+
+        var i = start;
+
+        var negative = false;
+        if (i < end && (buffer[i] == '-' || buffer[i] == '+')) {
+            negative = buffer[i] == '-';
+            i++;
+        }
+
+        var mantissa = 0L;
+        var digits = 0;
+        var exponent = 0;
+        var truncated = false;
+        var anyDigit = false;
+
+        for (; i < end && isDigit(buffer[i]); i++) {
+            var digit = buffer[i] - '0';
+            anyDigit = true;
+            if (mantissa == 0 && digit == 0) {
+                continue;
+            }
+            if (digits < MAX_DIGITS) {
+                mantissa = 10 * mantissa + digit;
+                digits++;
+            } else {
+                exponent++;
+                truncated |= digit != 0;
+            }
+        }
+
+        if (i < end && buffer[i] == '.') {
+            for (i++; i < end && isDigit(buffer[i]); i++) {
+                var digit = buffer[i] - '0';
+                anyDigit = true;
+                if (mantissa == 0 && digit == 0) {
+                    exponent--;
+                } else if (digits < MAX_DIGITS) {
+                    mantissa = 10 * mantissa + digit;
+                    digits++;
+                    exponent--;
+                } else {
+                    truncated |= digit != 0;
+                }
+            }
+        }
+
+        if (!anyDigit) {
+            return parseSpecial(buffer, start, end);
+        }
+
+        if (i < end && (buffer[i] == 'e' || buffer[i] == 'E')) {
+            i++;
+
+            var negativeExponent = false;
+            if (i < end && (buffer[i] == '-' || buffer[i] == '+')) {
+                negativeExponent = buffer[i] == '-';
+                i++;
+            }
+
+            if (i == end || !isDigit(buffer[i])) {
+                return Double.NaN;
+            }
+
+            var exponentValue = 0;
+            for (; i < end && isDigit(buffer[i]); i++) {
+                if (exponentValue < MAX_EXPONENT) {
+                    exponentValue = 10 * exponentValue + buffer[i] - '0';
+                }
+            }
+
+            exponent += negativeExponent ? -exponentValue : exponentValue;
+        }
+
+        if (i < end) {
+            return parseSpecial(buffer, start, end);
+        }
+
+        if (mantissa == 0) {
+            return negative ? -0.0 : 0.0;
+        }
+
+        if (!truncated && mantissa <= MAX_EXACT_MANTISSA
+            && Math.abs(exponent) <= MAX_EXACT_EXPONENT) {
+            var value = exponent >= 0
+                ? mantissa * POWERS_OF_TEN[exponent]
+                : mantissa / POWERS_OF_TEN[-exponent];
+            return negative ? -value : value;
+        }
+
+        return Double.parseDouble(new String(buffer, start, end - start));
+    }
+
+    /**
+     * Prüft, ob die Zeichen von {@code start} (inklusive) bis {@code end}
+     * (exklusive) des Puffers die Zeichenkette {@code "NaN"} darstellen.
+     * Hiermit kann ein Ergebnis von {@link #parse(char[], int, int)} ohne
+     * Exception daraufhin geprüft werden, ob die Eingabe ungültig war.
+     *
+     * @param buffer der Puffer, in dem die Zahl steht
+     * @param start  die Position des ersten Zeichens
+     * @param end    die Position hinter dem letzten Zeichen
+     *
+     * @return {@code true}, falls die Zeichen abgesehen von Leerraum und
+     *         Vorzeichen genau {@code "NaN"} lauten
+     */
+    public static boolean isNaN(char[] buffer, int start, int end) {
+        while (start < end && buffer[start] <= ' ') {
+            start++;
+        }
+        while (end > start && buffer[end - 1] <= ' ') {
+            end--;
+        }
+        if (start < end && (buffer[start] == '-' || buffer[start] == '+')) {
+            start++;
+        }
+        return matches(buffer, start, end, "NaN");
+    }
+
+    private static double parseSpecial(char[] buffer, int start, int end) {
+        var i = start;
+        if (i < end && (buffer[i] == '-' || buffer[i] == '+')) {
+            i++;
+        }
+
+        if (matches(buffer, i, end, "NaN")) {
+            return Double.NaN;
+        }
+        if (matches(buffer, i, end, "Infinity")) {
+            return buffer[start] == '-'
+                ? Double.NEGATIVE_INFINITY
+                : Double.POSITIVE_INFINITY;
+        }
+
+        var last = end > start ? buffer[end - 1] : 0;
+        var typed = last == 'd' || last == 'D' || last == 'f' || last == 'F';
+        var hexadecimal = end - i > 1 && buffer[i] == '0'
+            && (buffer[i + 1] == 'x' || buffer[i + 1] == 'X');
+
+        if (hexadecimal) {
+            try {
+                return Double.parseDouble(
+                    new String(buffer, start, end - start));
+            } catch (NumberFormatException e) {
+                return Double.NaN;
+            }
+        }
+
+        if (typed && end - 1 > i
+            && (isDigit(buffer[end - 2]) || buffer[end - 2] == '.')) {
+            return parse(buffer, start, end - 1);
+        }
+
+        return Double.NaN;
+    }
+
+    private static boolean matches(char[] buffer, int start, int end,
+        String word) {
+        if (end - start != word.length()) {
+            return false;
+        }
+        for (var i = 0; i < word.length(); i++) {
+            if (buffer[start + i] != word.charAt(i)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static boolean isDigit(char c) {
+        return c >= '0' && c <= '9';
+    }
+}
@@ -0,0 +1,55 @@
+package classification.io;
+
+import jdk.jfr.Category;
+import jdk.jfr.DataAmount;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.Timespan;
+
+/**
+ * Das JFR-Ereignis, mit dem ein gemessener Ladevorgang aufgezeichnet wird.
+ *
+ * @author Kim Berninger
+ * @version 1.1.0
+ *
+ * @see LoadStatistics
+ */
+@Name("classification.io.Load")
+@Label("Dataset Load")
+@Category({"Classification", "I/O"})
+@Description("Ein gemessener Ladevorgang eines Datensatzes")
+class LoadEvent extends Event {
+    @Label("Source")
+    String source;
+
+    @Label("Bytes Read")
+    @DataAmount(DataAmount.BYTES)
+    long bytesRead;
+
+    @Label("Rows Parsed")
+    long rowsParsed;
+
+    @Label("Rows Rejected")
+    long rowsRejected;
+
+    @Label("I/O Time")
+    @Timespan(Timespan.NANOSECONDS)
+    long ioTime;
+
+    @Label("Tokenize Time")
+    @Timespan(Timespan.NANOSECONDS)
+    long tokenizeTime;
+
+    @Label("Parse Time")
+    @Timespan(Timespan.NANOSECONDS)
+    long parseTime;
+
+    @Label("Wait Time")
+    @Timespan(Timespan.NANOSECONDS)
+    long waitTime;
+
+    @Label("Peak Buffered Rows")
+    long peakBufferedRows;
+}
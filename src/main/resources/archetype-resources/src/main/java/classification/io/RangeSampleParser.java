@@ -0,0 +1,37 @@
+package classification.io;
+
+import classification.data.Sample;
+
+/**
+ * Erzeugt einen Datenpunkt direkt aus den Zeichenbereichen einer Zeile, die
+ * von einem {@link CSVTokenizer} zerlegt wurde.
+ * Im Gegensatz zu {@link SampleParser#parse(String[])} müssen hierfür keine
+ * {@code String}s für die einzelnen Elemente erzeugt werden, sodass
+ * numerische Werte zum Beispiel mit {@link CSVTokenizer#parseDouble(int)}
+ * unmittelbar aus dem Puffer gelesen werden können.
+ * Wie bei {@link SampleParser#parse(String[])} sollte eine Zeile, die sich
+ * nicht umwandeln lässt, zu einer Exception führen, statt zum Beispiel
+ * {@link Double#NaN} in den Datenpunkt zu übernehmen.
+ * <br>
+ * Implementiert ein {@link SampleParser} zusätzlich dieses Interface, so
+ * verwenden {@link CSVDatasetLoader} und {@link ParallelCSVDatasetLoader}
+ * automatisch {@link #parse(CSVTokenizer)}, sofern die Zeilen ohne regulären
+ * Ausdruck zerlegt werden.
+ *
+ * @author Kim Berninger
+ * @version 1.1.0
+ *
+ * @param <S> der Subtyp von {@link Sample}, dem die Datenpunkte, die dieser
+ *            {@code RangeSampleParser} liefert, entsprechen sollen
+ */
+public interface RangeSampleParser<S extends Sample<?>> {
+    /**
+     * Erzeugt ein {@link Sample} aus der aktuellen Zeile des übergebenen
+     * {@link CSVTokenizer}s.
+     *
+     * @param row der {@code CSVTokenizer}, dessen aktuelle Zeile geparst
+     *            werden soll
+     * @return der Datenpunkt, der der Zeile entspricht
+     */
+    S parse(CSVTokenizer row);
+}
@@ -0,0 +1,287 @@
+package classification.io;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import classification.data.Label;
+import classification.data.LabelDictionary;
+
+/**
+ * Beschreibt die Typen der Spalten einer CSV-Datei.
+ * Mit Hilfe eines {@code RowSchema}s kann eine Zeile direkt in typisierte
+ * Werte ({@link TypedRow}) oder in spaltenweise Puffer ({@link ColumnBuffer})
+ * umgewandelt werden, ohne zuvor ein {@code String}-Array zu erzeugen.
+ * <br>
+ * Ein Schema wird Spalte für Spalte von links nach rechts aufgebaut:
+ * <blockquote>
+ *   <pre><code>
+ *var schema = new RowSchema()
+ *    .doubleColumns(4)
+ *    .labelColumn(PlantClass.class);
+ *   </code></pre>
+ * </blockquote>
+ * Spalten vom Typ {@link ColumnType#IGNORED} sowie alle Spalten, die über das
+ * Schema hinausgehen, werden beim Lesen übersprungen, ohne dass hierfür
+ * Objekte erzeugt werden.
+ * Fehlen einer Zeile Spalten am Ende, zum Beispiel weil ihre letzten Elemente
+ * leer sind, so gelten diese als leer.
+ * Fehlende Textspalten enthalten dann den leeren {@code String}, fehlende
+ * {@code double}- und Label-Spalten machen die Zeile ungültig.
+ * Label-Spalten werden über ein vorberechnetes {@link LabelDictionary}
+ * aufgelöst.
+ *
+ * @author Kim Berninger
+ * @version 1.1.0
+ *
+ * @see SchemaParser
+ * @see ColumnBuffer
+ */
+public class RowSchema {
+    /**
+     * Die möglichen Typen einer Spalte.
+     */
+    public enum ColumnType {
+        /** Eine Spalte mit {@code double}-Werten. */
+        DOUBLE,
+
+        /** Eine Spalte mit den Namen der Konstanten eines Label-Enums. */
+        LABEL,
+
+        /** Eine Spalte mit beliebigem Text. */
+        TEXT,
+
+        /** Eine Spalte, deren Inhalt nicht gelesen werden soll. */
+        IGNORED;
+    }
+
+    private List<ColumnType> types = new ArrayList<>();
+    private List<LabelDictionary<?>> dictionaries = new ArrayList<>();
+
+    private int doubleCount;
+    private int textCount;
+
+    /**
+     * Hängt eine Spalte mit {@code double}-Werten an dieses Schema an.
+     *
+     * @return dieses Schema
+     */
+    public RowSchema doubleColumn() {
+        types.add(ColumnType.DOUBLE);
+        doubleCount++;
+        return this;
+    }
+
+    /**
+     * Hängt {@code count} Spalten mit {@code double}-Werten an dieses Schema
+     * an.
+     *
+     * @param count die Anzahl der anzuhängenden Spalten
+     *
+     * @return dieses Schema
+     */
+    public RowSchema doubleColumns(int count) {
+        for (var i = 0; i < count; i++) {
+            doubleColumn();
+        }
+        return this;
+    }
+
+    /**
+     * Hängt eine Label-Spalte an dieses Schema an.
+     * Ihre Werte werden mit den Ergebnissen von {@link Object#toString()} der
+     * Konstanten des übergebenen Enums verglichen.
+     *
+     * @param <L>       das Enum der Labels
+     * @param labelType die {@link Class}-Instanz des Enums
+     *
+     * @return dieses Schema
+     */
+    public <L extends Enum<L> & Label> RowSchema labelColumn(
+        Class<L> labelType) {
+        types.add(ColumnType.LABEL);
+        dictionaries.add(LabelDictionary.of(labelType));
+        return this;
+    }
+
+    /**
+     * Hängt eine Textspalte an dieses Schema an.
+     *
+     * @return dieses Schema
+     */
+    public RowSchema textColumn() {
+        types.add(ColumnType.TEXT);
+        textCount++;
+        return this;
+    }
+
+    /**
+     * Hängt eine Spalte an dieses Schema an, die beim Lesen übersprungen
+     * wird.
+     *
+     * @return dieses Schema
+     */
+    public RowSchema ignoredColumn() {
+        types.add(ColumnType.IGNORED);
+        return this;
+    }
+
+    /**
+     * Hängt {@code count} Spalten an dieses Schema an, die beim Lesen
+     * übersprungen werden.
+     *
+     * @param count die Anzahl der anzuhängenden Spalten
+     *
+     * @return dieses Schema
+     */
+    public RowSchema ignoredColumns(int count) {
+        for (var i = 0; i < count; i++) {
+            ignoredColumn();
+        }
+        return this;
+    }
+
+    /**
+     * Liefert die Anzahl der Spalten in diesem Schema.
+     *
+     * @return die Anzahl der Spalten
+     */
+    public int size() {
+        return types.size();
+    }
+
+    /**
+     * Liefert den Typ der übergebenen Spalte.
+     *
+     * @param column der Index der Spalte
+     *
+     * @return den Typ der Spalte
+     *
+     * @throws IndexOutOfBoundsException falls das Schema keine solche Spalte
+     *                                   enthält
+     */
+    public ColumnType getType(int column) {
+        return types.get(column);
+    }
+
+    int getDoubleCount() {
+        return doubleCount;
+    }
+
+    int getLabelCount() {
+        return dictionaries.size();
+    }
+
+    int getTextCount() {
+        return textCount;
+    }
+
+    LabelDictionary<?> getDictionary(int label) {
+        return dictionaries.get(label);
+    }
+
+    String describe() {
+        var description = new StringBuilder();
+        var labels = 0;
+        for (var type : types) {
+            description.append(type);
+            if (type == ColumnType.LABEL) {
+                var dictionary = dictionaries.get(labels++);
+                description.append('(');
+                for (var code = 0; code < dictionary.size(); code++) {
+                    description.append(dictionary.decode(code)).append('|');
+                }
+                description.append(')');
+            }
+            description.append(',');
+        }
+        return description.toString();
+    }
+
+    TypedRow newRow() {
+        return new TypedRow(this);
+    }
+
+    void read(CSVTokenizer row, TypedRow target) {
+        target.error = null;
+
+        var buffer = row.getBuffer();
+
+        var doubles = 0;
+        var labels = 0;
+        var texts = 0;
+
+        for (var column = 0; column < types.size(); column++) {
+            var present = column < row.getFieldCount();
+            var start = present ? row.getFieldStart(column) : 0;
+            var end = present ? row.getFieldEnd(column) : 0;
+
+            switch (types.get(column)) {
+                case DOUBLE:
+                    var value = DoubleParser.parse(buffer, start, end);
+                    if (Double.isNaN(value)
+                        && !DoubleParser.isNaN(buffer, start, end)) {
+                        reject(target, column, ColumnType.DOUBLE);
+                    }
+                    target.doubles[doubles++] = value;
+                    break;
+                case LABEL:
+                    var code = dictionaries.get(labels)
+                        .lookup(buffer, start, end);
+                    if (code < 0) {
+                        reject(target, column, ColumnType.LABEL);
+                    }
+                    target.labelCodes[labels++] = code;
+                    break;
+                case TEXT:
+                    target.texts[texts++] =
+                        present ? row.getField(column) : "";
+                    break;
+                default:
+                    break;
+            }
+        }
+    }
+
+    void read(String[] values, TypedRow target) {
+        target.error = null;
+
+        var doubles = 0;
+        var labels = 0;
+        var texts = 0;
+
+        for (var column = 0; column < types.size(); column++) {
+            var field = column < values.length ? values[column] : "";
+            switch (types.get(column)) {
+                case DOUBLE:
+                    var chars = field.toCharArray();
+                    var value = DoubleParser.parse(chars, 0, chars.length);
+                    if (Double.isNaN(value)
+                        && !DoubleParser.isNaN(chars, 0, chars.length)) {
+                        reject(target, column, ColumnType.DOUBLE);
+                    }
+                    target.doubles[doubles++] = value;
+                    break;
+                case LABEL:
+                    var code = dictionaries.get(labels).lookup(field);
+                    if (code < 0) {
+                        reject(target, column, ColumnType.LABEL);
+                    }
+                    target.labelCodes[labels++] = code;
+                    break;
+                case TEXT:
+                    target.texts[texts++] = field;
+                    break;
+                default:
+                    break;
+            }
+        }
+    }
+
+    private static void reject(TypedRow target, int column,
+        ColumnType type) {
+        if (target.error == null) {
+            target.error = String.format(
+                "Ungültiger Wert vom Typ %s in Spalte %d", type, column);
+        }
+    }
+}
@@ -0,0 +1,200 @@
+package classification.io;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.io.UncheckedIOException;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import classification.data.Dataset;
+import classification.data.Sample;
+
+/**
+ * Wird verwendet, um einen Datensatz aus mehreren CSV-Dateien (Shards) eines
+ * Verzeichnisses zu lesen.
+ * <br>
+ * Es werden alle Dateien des Verzeichnisses gelesen, deren Name dem
+ * übergebenen Glob-Muster entspricht.
+ * gzip-komprimierte Dateien werden hierbei, wie bei jedem {@link CSVReader},
+ * anhand ihrer Kennung erkannt und beim Lesen entpackt.
+ * Die Shards werden von mehreren Threads gleichzeitig gelesen und
+ * anschließend in der lexikographischen Reihenfolge ihrer Namen zu einem
+ * Datensatz zusammengefügt, sodass das Ergebnis nicht von der Reihenfolge
+ * abhängt, in der die Threads fertig werden.
+ * Jeder Shard wird wie von einem {@link CSVDatasetLoader} mit dem übergebenen
+ * {@link CSVReader} gelesen.
+ * Hat der {@code CSVReader} eine Kopfzeile, so wird sie daher in jedem Shard
+ * übersprungen und die mit {@link CSVReader#select(String...)} gewählten
+ * Spalten werden für jeden Shard anhand seiner eigenen Kopfzeile bestimmt.
+ * <br>
+ * Da der {@link SampleParser} von mehreren Threads gleichzeitig verwendet
+ * wird, muss er threadsicher sein.
+ *
+ * @author Kim Berninger
+ * @version 1.1.0
+ *
+ * @param <S> der Subtyp von {@link Sample}, dem die Elemente des erzeugten
+ *            Datensatzes entsprechen sollen
+ *
+ * @see CSVDatasetLoader
+ * @see java.nio.file.FileSystem#getPathMatcher(String)
+ */
+public class ShardedCSVDatasetLoader<S extends Sample<?>>
+    implements DatasetLoader<S> {
+    private static final String STANDARD_GLOB = "*.{csv,csv.gz}";
+
+    private File directory;
+    private String glob;
+    private CSVReader reader;
+    private SampleParser<? extends S> parser;
+    private int parallelism;
+
+    /**
+     * Erzeugt einen {@code ShardedCSVDatasetLoader}, der alle Dateien des
+     * übergebenen Verzeichnisses liest, die dem Muster
+     * {@value #STANDARD_GLOB} entsprechen.
+     * Die Dateien werden mit einem {@link CSVReader#CSVReader()} zerlegt.
+     *
+     * @param directory das Verzeichnis, das die Shards enthält
+     * @param parser    der threadsichere Parser, der verwendet werden soll, um
+     *                  eine Zeile der CSV-Dateien in den zugehörigen
+     *                  Datenpunkt umzuwandeln
+     */
+    public ShardedCSVDatasetLoader(File directory,
+        SampleParser<? extends S> parser) {
+        this(directory, STANDARD_GLOB, parser);
+    }
+
+    /**
+     * Erzeugt einen {@code ShardedCSVDatasetLoader}, der alle Dateien des
+     * übergebenen Verzeichnisses liest, die dem übergebenen Glob-Muster
+     * entsprechen.
+     * Die Dateien werden mit einem {@link CSVReader#CSVReader()} zerlegt.
+     *
+     * @param directory das Verzeichnis, das die Shards enthält
+     * @param glob      das Muster, dem die Namen der Shards entsprechen,
+     *                  zum Beispiel {@code "part-*.csv.gz"}
+     * @param parser    der threadsichere Parser, der verwendet werden soll, um
+     *                  eine Zeile der CSV-Dateien in den zugehörigen
+     *                  Datenpunkt umzuwandeln
+     */
+    public ShardedCSVDatasetLoader(File directory, String glob,
+        SampleParser<? extends S> parser) {
+        this(directory, glob, new CSVReader(), parser);
+    }
+
+    /**
+     * Erzeugt einen {@code ShardedCSVDatasetLoader}, der alle Dateien des
+     * übergebenen Verzeichnisses mit so vielen Threads, wie Prozessoren zur
+     * Verfügung stehen, liest, die dem übergebenen Glob-Muster entsprechen.
+     *
+     * @param directory das Verzeichnis, das die Shards enthält
+     * @param glob      das Muster, dem die Namen der Shards entsprechen
+     * @param reader    der {@link CSVReader}, der die Zeilen der Shards
+     *                  zerlegen soll
+     * @param parser    der threadsichere Parser, der verwendet werden soll, um
+     *                  eine Zeile der CSV-Dateien in den zugehörigen
+     *                  Datenpunkt umzuwandeln
+     */
+    public ShardedCSVDatasetLoader(File directory, String glob,
+        CSVReader reader, SampleParser<? extends S> parser) {
+        this(directory, glob, reader, parser,
+            Runtime.getRuntime().availableProcessors());
+    }
+
+    /**
+     * Erzeugt einen {@code ShardedCSVDatasetLoader}, der alle Dateien des
+     * übergebenen Verzeichnisses mit der angegebenen Anzahl an Threads liest,
+     * die dem übergebenen Glob-Muster entsprechen.
+     *
+     * @param directory   das Verzeichnis, das die Shards enthält
+     * @param glob        das Muster, dem die Namen der Shards entsprechen
+     * @param reader      der {@link CSVReader}, der die Zeilen der Shards
+     *                    zerlegen soll
+     * @param parser      der threadsichere Parser, der verwendet werden soll,
+     *                    um eine Zeile der CSV-Dateien in den zugehörigen
+     *                    Datenpunkt umzuwandeln
+     * @param parallelism die Anzahl der Threads, die die Shards lesen sollen
+     *
+     * @throws IllegalArgumentException falls {@code parallelism} nicht positiv
+     *                                  ist
+     */
+    public ShardedCSVDatasetLoader(File directory, String glob,
+        CSVReader reader, SampleParser<? extends S> parser, int parallelism) {
+        if (parallelism < 1) {
+            throw new IllegalArgumentException(
+                String.format("Ungültige Anzahl an Threads: %d", parallelism));
+        }
+        this.directory = directory;
+        this.glob = glob;
+        this.reader = reader;
+        this.parser = parser;
+        this.parallelism = parallelism;
+    }
+
+    @Override
+    public Dataset<S> loadDataset() {
+        var executor = Executors.newFixedThreadPool(parallelism);
+
+        try {
+            Dataset<S> samples = CSVDatasetLoader.createDataset();
+
+            var shards = new ArrayList<Future<List<S>>>();
+            for (var shard : shards()) {
+                var source = new CSVDatasetLoader<S>(
+                    shard.toFile(), reader, parser);
+                shards.add(executor.submit(() -> {
+                    var shardSamples = new ArrayList<S>();
+                    source.forEachSample(shardSamples::add);
+                    return shardSamples;
+                }));
+            }
+
+            for (var shard : shards) {
+                for (var sample : shard.get()) {
+                    samples.add(sample);
+                }
+            }
+
+            return samples;
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new UncheckedIOException(new InterruptedIOException(
+                "Das Laden des Datensatzes wurde unterbrochen"));
+        } catch (ExecutionException e) {
+            var cause = e.getCause();
+            if (cause instanceof IOException) {
+                throw new UncheckedIOException((IOException) cause);
+            }
+            if (cause instanceof RuntimeException) {
+                throw (RuntimeException) cause;
+            }
+            throw (Error) cause;
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    private List<Path> shards() throws IOException {
+        var shards = new ArrayList<Path>();
+        try (var files = Files.newDirectoryStream(directory.toPath(), glob)) {
+            for (var file : files) {
+                if (Files.isRegularFile(file)) {
+                    shards.add(file);
+                }
+            }
+        }
+        shards.sort(null);
+        return shards;
+    }
+}
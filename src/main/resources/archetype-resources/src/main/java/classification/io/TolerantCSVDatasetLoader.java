@@ -0,0 +1,217 @@
+package classification.io;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+
+import java.util.function.Consumer;
+
+import classification.data.Dataset;
+import classification.data.Sample;
+
+/**
+ * Lädt einen Datensatz mit einem {@link CSVDatasetLoader}, wobei fehlerhafte
+ * Zeilen nicht zum Abbruch führen, sondern in einer {@link Quarantine}
+ * gesammelt werden.
+ * <br>
+ * Verwendet der zugrunde liegende Loader einen {@link SchemaParser}, so wird
+ * jede Zeile ohne Exceptions anhand ihres {@link RowSchema}s geprüft:
+ * Eine Zeile wird verworfen, wenn sie weniger Elemente als das Schema hat,
+ * eine {@code double}-Spalte keine gültige Zahl enthält oder eine
+ * Label-Spalte keinem Label entspricht.
+ * Eine fehlerhafte Datei ist in diesem Fall genauso schnell geladen wie eine
+ * fehlerfreie.
+ * <br>
+ * Bei einem {@link RangeSampleParser} wird eine Zeile ebenfalls ohne
+ * Exceptions verworfen, wenn eines der Elemente, die der Parser mit
+ * {@link CSVTokenizer#parseDouble(int)} liest, keine gültige Zahl enthält.
+ * Der Parser erhält für diese Elemente {@link Double#NaN}, sein Datenpunkt
+ * wird jedoch nicht in den Datensatz übernommen.
+ * <br>
+ * Daneben wird bei allen Parsern eine Zeile verworfen, wenn der Parser beim
+ * Umwandeln eine {@link RuntimeException} wirft.
+ * <br>
+ * Verwendet der {@link CSVReader} einen regulären Ausdruck, so entspricht die
+ * Zeilennummer der Nummer der nichtleeren Zeile.
+ *
+ * @author Kim Berninger
+ * @version 1.1.0
+ *
+ * @param <S> der Subtyp von {@link Sample}, dem die Elemente des erzeugten
+ *            Datensatzes entsprechen sollen
+ *
+ * @see Quarantine
+ */
+public class TolerantCSVDatasetLoader<S extends Sample<?>>
+    implements DatasetLoader<S> {
+    private CSVDatasetLoader<S> source;
+    private Quarantine quarantine;
+
+    /**
+     * Erzeugt einen {@code TolerantCSVDatasetLoader}, der die Quelle des
+     * übergebenen {@link CSVDatasetLoader}s liest und fehlerhafte Zeilen in
+     * die übergebene {@link Quarantine} verschiebt.
+     *
+     * @param source     der Loader, dessen Quelle und Parser verwendet werden
+     *                   sollen
+     * @param quarantine die {@code Quarantine}, in der fehlerhafte Zeilen
+     *                   gesammelt werden sollen
+     */
+    public TolerantCSVDatasetLoader(CSVDatasetLoader<S> source,
+        Quarantine quarantine) {
+        this.source = source;
+        this.quarantine = quarantine;
+    }
+
+    @Override
+    public Dataset<S> loadDataset() {
+        return load(null);
+    }
+
+    /**
+     * Lädt den Datensatz wie {@link #loadDataset()} und misst dabei den
+     * Ladevorgang einschließlich der Anzahl der verworfenen Zeilen.
+     *
+     * @param statistics die Statistik, in die die Messwerte übernommen werden
+     * @return den geladenen Datensatz
+     *
+     * @see LoadStatistics
+     */
+    public Dataset<S> loadDataset(LoadStatistics statistics) {
+        var metrics = new LoadMetrics();
+        var samples = load(metrics);
+        metrics.buffered(metrics.rowsParsed);
+        statistics.record(metrics, source.getSource());
+        return samples;
+    }
+
+    private Dataset<S> load(LoadMetrics metrics) {
+        try {
+            Dataset<S> samples = CSVDatasetLoader.createDataset();
+            forEachSample(samples::add, metrics);
+            return samples;
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    void forEachSample(Consumer<? super S> action, LoadMetrics metrics)
+        throws IOException {
+        var reader = source.getReader();
+        var parser = source.getParser();
+
+        if (!reader.isTokenizing()) {
+            var lineNumber = new long[1];
+            reader.readFile(source.getSource(), row -> {
+                lineNumber[0]++;
+                S sample;
+                try {
+                    sample = parser.parse(row);
+                } catch (RuntimeException e) {
+                    quarantine.reject(lineNumber[0], describe(e), row);
+                    if (metrics != null) {
+                        // readFile zählt jede Zeile als geparst
+                        metrics.rowsParsed--;
+                        metrics.rowsRejected++;
+                    }
+                    return;
+                }
+                action.accept(sample);
+            }, metrics);
+            return;
+        }
+
+        try (var tokenizer = reader.tokenize(source.getSource(), metrics)) {
+            if (parser instanceof SchemaParser<?>) {
+                @SuppressWarnings("unchecked")
+                var schemaParser = (SchemaParser<? extends S>) parser;
+                var columns = schemaParser.getSchema().size();
+
+                while (tokenizer.nextRow()) {
+                    var time = startTimer(metrics);
+                    if (tokenizer.getFieldCount() < columns) {
+                        reject(tokenizer, String.format(
+                            "Zu wenige Elemente: %d statt %d",
+                            tokenizer.getFieldCount(), columns));
+                        stopTimer(metrics, time, false);
+                        continue;
+                    }
+
+                    var row = schemaParser.read(tokenizer);
+                    if (row.error != null) {
+                        reject(tokenizer, row.error);
+                    } else {
+                        action.accept(schemaParser.map(row));
+                    }
+                    stopTimer(metrics, time, row.error == null);
+                }
+            } else if (parser instanceof RangeSampleParser<?>) {
+                @SuppressWarnings("unchecked")
+                var rangeParser = (RangeSampleParser<? extends S>) parser;
+                tokenizer.collectErrors();
+
+                while (tokenizer.nextRow()) {
+                    var time = startTimer(metrics);
+                    S sample;
+                    try {
+                        sample = rangeParser.parse(tokenizer);
+                    } catch (RuntimeException e) {
+                        reject(tokenizer, describe(e));
+                        stopTimer(metrics, time, false);
+                        continue;
+                    }
+
+                    var error = tokenizer.getError();
+                    if (error != null) {
+                        reject(tokenizer, error);
+                    } else {
+                        action.accept(sample);
+                    }
+                    stopTimer(metrics, time, error == null);
+                }
+            } else {
+                while (tokenizer.nextRow()) {
+                    var row = tokenizer.getFields(null);
+                    var time = startTimer(metrics);
+                    S sample;
+                    try {
+                        sample = parser.parse(row);
+                    } catch (RuntimeException e) {
+                        reject(tokenizer, describe(e));
+                        stopTimer(metrics, time, false);
+                        continue;
+                    }
+                    action.accept(sample);
+                    stopTimer(metrics, time, true);
+                }
+            }
+        }
+    }
+
+    private void reject(CSVTokenizer tokenizer, String reason) {
+        quarantine.reject(tokenizer.getLineNumber(), reason,
+            tokenizer.getFields(null));
+    }
+
+    private static long startTimer(LoadMetrics metrics) {
+        return metrics == null ? 0 : System.nanoTime();
+    }
+
+    private static void stopTimer(LoadMetrics metrics, long time,
+        boolean accepted) {
+        if (metrics == null) {
+            return;
+        }
+        metrics.parseTime += System.nanoTime() - time;
+        if (accepted) {
+            metrics.rowsParsed++;
+        } else {
+            metrics.rowsRejected++;
+        }
+    }
+
+    private static String describe(RuntimeException e) {
+        return e.getMessage() == null
+            ? e.getClass().getSimpleName()
+            : e.getClass().getSimpleName() + ": " + e.getMessage();
+    }
+}
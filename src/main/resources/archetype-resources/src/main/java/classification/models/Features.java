@@ -0,0 +1,103 @@
+package classification.models;
+
+import classification.data.Sample;
+import classification.data.SparseSample;
+import classification.data.SupervisedSample;
+
+/**
+ * Der Feature-Vektor eines Datenpunktes als primitive Arrays, auf denen die
+ * Trainingsverfahren dieses Pakets ohne weitere Objekterzeugung rechnen.
+ * <br>
+ * Für dünnbesetzte Datenpunkte werden nur die gespeicherten Komponenten
+ * übernommen, sodass alle Operationen {@code O(nnz)} kosten.
+ * Für alle übrigen Datenpunkte wird der vollständige Vektor übernommen.
+ *
+ * @author Kim Berninger
+ * @version 1.1.0
+ */
+final class Features {
+    private final int dimension;
+    private final int[] indices;
+    private final double[] values;
+
+    private Features(int dimension, int[] indices, double[] values) {
+        this.dimension = dimension;
+        this.indices = indices;
+        this.values = values;
+    }
+
+    static Features of(Sample<?> sample) {
+        if (sample instanceof SupervisedSample) {
+            sample = ((SupervisedSample<?, ?>) sample).getSample();
+        }
+
+        if (sample instanceof SparseSample) {
+            var sparse = (SparseSample) sample;
+            var count = sparse.getNonZeroCount();
+            var indices = new int[count];
+            var values = new double[count];
+            for (var k = 0; k < count; k++) {
+                indices[k] = sparse.getIndex(k);
+                values[k] = sparse.getValue(k);
+            }
+            return new Features(sparse.getDimension(), indices, values);
+        }
+
+        var vector = sample.getFeatures();
+        var values = new double[vector.getDimension()];
+        for (var i = 0; i < values.length; i++) {
+            values[i] = vector.get(i);
+        }
+        return new Features(values.length, null, values);
+    }
+
+    int getDimension() {
+        return dimension;
+    }
+
+    int size() {
+        return values.length;
+    }
+
+    int index(int k) {
+        return indices == null ? k : indices[k];
+    }
+
+    double value(int k) {
+        return values[k];
+    }
+
+    double dot(double[] weights) {
+        var result = 0.0;
+        if (indices == null) {
+            for (var i = 0; i < values.length; i++) {
+                result += weights[i] * values[i];
+            }
+        } else {
+            for (var k = 0; k < values.length; k++) {
+                result += weights[indices[k]] * values[k];
+            }
+        }
+        return result;
+    }
+
+    void addTo(double[] weights, double factor) {
+        if (indices == null) {
+            for (var i = 0; i < values.length; i++) {
+                weights[i] += factor * values[i];
+            }
+        } else {
+            for (var k = 0; k < values.length; k++) {
+                weights[indices[k]] += factor * values[k];
+            }
+        }
+    }
+
+    double squaredNorm() {
+        var result = 0.0;
+        for (var value : values) {
+            result += value * value;
+        }
+        return result;
+    }
+}
@@ -0,0 +1,23 @@
+package classification.models;
+
+/**
+ * Die Regel des einfachen Subgradientenverfahrens, die jede Komponente mit
+ * der Lernrate der SVM in Richtung des negativen Subgradienten verschiebt.
+ * Dies ist der Standardoptimierer einer {@link LinearSVM}.
+ *
+ * @author Kim Berninger
+ * @version 1.1.0
+ */
+final class PlainSGD extends Optimizer {
+    private double eta;
+
+    @Override
+    void prepare(int dimension, long step, double eta) {
+        this.eta = eta;
+    }
+
+    @Override
+    double delta(int index, double direction) {
+        return eta * direction;
+    }
+}
@@ -0,0 +1,27 @@
+package classification.models;
+
+import java.util.Random;
+
+/**
+ * Das stochastische Subgradientenverfahren, das für jeden Datenpunkt einzeln
+ * und in zufälliger Reihenfolge einen Trainingsschritt ausführt.
+ * Dies ist das Standardverfahren einer {@link LinearSVM}.
+ *
+ * @author Kim Berninger
+ * @version 1.1.0
+ */
+public final class SGDTrainer extends Trainer {
+    @Override
+    double epoch(LinearSVM<?> svm, TrainingSet data, Random random) {
+        var loss = 0.0;
+        for (var i : data.permutation(random)) {
+            loss += svm.step(data.features[i], data.labels[i]);
+        }
+        return loss / Math.max(1, data.size());
+    }
+
+    @Override
+    boolean usesOptimizer() {
+        return true;
+    }
+}
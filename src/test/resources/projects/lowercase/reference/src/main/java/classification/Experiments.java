@@ -1,12 +1,11 @@
 package classification;
 
+import java.io.File;
+
 import java.util.Map;
 import java.util.TreeMap;
 import java.util.function.Supplier;
 
-import java.io.File;
-import java.net.URISyntaxException;
-
 import javax.swing.JButton;
 import javax.swing.JFrame;
 import javax.swing.GroupLayout;
@@ -14,13 +13,18 @@ import javax.swing.WindowConstants;
 
 import classification.models.BinaryClassifier;
 
+import classification.data.BinaryLabel;
 import classification.data.Dataset;
 import classification.data.Sample;
+import classification.data.SupervisedSample;
 
+import classification.io.CachingDatasetLoader;
 import classification.io.CSVDatasetLoader;
+import classification.io.DataSource;
+import classification.io.RowSchema;
+import classification.io.SchemaParser;
 import classification.examples.iris.IrisPlant;
 import classification.examples.iris.PlantClass;
-import classification.examples.iris.LabeledPlantParser;
 
 import classification.examples.twodimensional.Point;
 import classification.examples.twodimensional.LabeledPointParser;
@@ -34,6 +38,8 @@ import classification.examples.sms.LabeledMessageParser;
  * @version 1.1.0
  */
 public class Experiments {
+    private static final File CACHE_DIRECTORY = new File("target", "cache");
+
     private static Map<String, Supplier<ClassificationExperiment<?>>>
         experiments = new TreeMap<>(Map.of(
             "Iris (Setosa)", () -> irisExample(PlantClass.SETOSA),
@@ -85,111 +91,106 @@ public class Experiments {
 
     private static ClassificationExperiment<IrisPlant> irisExample(
         PlantClass positiveClass) {
-        try {
-            var trainingSet = Dataset.load(new CSVDatasetLoader<>(
-                new File(IrisPlant.class.getResource("iris_train.csv").toURI()),
-                new LabeledPlantParser(positiveClass)));
-    
-            var evaluationSet = Dataset.load(new CSVDatasetLoader<>(
-                new File(IrisPlant.class.getResource("iris_eval.csv").toURI()),
-                new LabeledPlantParser(positiveClass)));
-    
-            BinaryClassifier<IrisPlant> svm = svm(4, 0.01);
-    
-            return new ClassificationExperiment<>(positiveClass.toString(),
-                svm, trainingSet, evaluationSet, 1000);
-        } catch (URISyntaxException ex) {
-            return null;
-        }
+        var trainingSet = Dataset.load(new CachingDatasetLoader<>(
+            new CSVDatasetLoader<>(
+                DataSource.ofResource(IrisPlant.class, "iris_train.csv"),
+                irisParser(positiveClass)),
+            CACHE_DIRECTORY));
+
+        var evaluationSet = Dataset.load(new CachingDatasetLoader<>(
+            new CSVDatasetLoader<>(
+                DataSource.ofResource(IrisPlant.class, "iris_eval.csv"),
+                irisParser(positiveClass)),
+            CACHE_DIRECTORY));
+
+        BinaryClassifier<IrisPlant> svm = svm(4, 0.01);
+
+        return new ClassificationExperiment<>(positiveClass.toString(),
+            svm, trainingSet, evaluationSet, 1000);
+    }
+
+    private static SchemaParser<SupervisedSample<IrisPlant, BinaryLabel>>
+        irisParser(PlantClass positiveClass) {
+        var schema = new RowSchema()
+            .doubleColumns(4)
+            .labelColumn(PlantClass.class);
+
+        return new SchemaParser<>(schema, row -> new SupervisedSample<>(
+            new IrisPlant(row.getDouble(0), row.getDouble(1),
+                row.getDouble(2), row.getDouble(3)),
+            row.getLabel(0, PlantClass.class) == positiveClass
+                ? BinaryLabel.POSITIVE
+                : BinaryLabel.NEGATIVE));
     }
 
     private static ClassificationExperiment<Point> small2DExample() {
-        try {
-            var trainingSet = Dataset.load(new CSVDatasetLoader<>(
-                new File(Point.class.getResource("points_small_train.csv")
-                    .toURI()),
-                new LabeledPointParser()));
-    
-            BinaryClassifier<Point> svm = svm(2, 0.001);
-    
-            return new ClassificationExperiment<>("Linear separierbare Punkte",
-                svm, trainingSet, 200);
-        } catch (URISyntaxException ex) {
-            return null;
-        }
+        var trainingSet = Dataset.load(new CSVDatasetLoader<>(
+            DataSource.ofResource(Point.class, "points_small_train.csv"),
+            new LabeledPointParser()));
+
+        BinaryClassifier<Point> svm = svm(2, 0.001);
+
+        return new ClassificationExperiment<>("Linear separierbare Punkte",
+            svm, trainingSet, 200);
     }
 
     private static ClassificationExperiment<Point> big2DExample() {
-        try {
-            var trainingSet = Dataset.load(new CSVDatasetLoader<>(
-                new File(Point.class.getResource("points_big_train.csv")
-                    .toURI()),
-                new LabeledPointParser()));
-    
-            var evaluationSet = Dataset.load(new CSVDatasetLoader<>(
-                new File(Point.class.getResource("points_big_eval.csv")
-                    .toURI()),
-                new LabeledPointParser()));
-    
-            BinaryClassifier<Point> svm = svm(2, 0.001);
-    
-            return new ClassificationExperiment<>("Überlappende Gauß-Cluster",
-                svm, trainingSet, evaluationSet, 5000);
-        } catch (URISyntaxException ex) {
-            return null;
-        }
+        var trainingSet = Dataset.load(new CSVDatasetLoader<>(
+            DataSource.ofResource(Point.class, "points_big_train.csv"),
+            new LabeledPointParser()));
+
+        var evaluationSet = Dataset.load(new CSVDatasetLoader<>(
+            DataSource.ofResource(Point.class, "points_big_eval.csv"),
+            new LabeledPointParser()));
+
+        BinaryClassifier<Point> svm = svm(2, 0.001);
+
+        return new ClassificationExperiment<>("Überlappende Gauß-Cluster",
+            svm, trainingSet, evaluationSet, 5000);
     }
 
     private static ClassificationExperiment<Point> exerciseSheetExample() {
-        try {
-            var trainingSet = Dataset.load(new CSVDatasetLoader<>(
-                new File(Point.class.getResource("example.csv").toURI()),
-                new LabeledPointParser()));
-    
-            BinaryClassifier<Point> svm = svm(2, 0.001);
-    
-            return new ClassificationExperiment<>("Beispiel vom Übungsblatt",
-                svm, trainingSet, 500);
-        } catch (URISyntaxException ex) {
-            return null;
-        }
+        var trainingSet = Dataset.load(new CSVDatasetLoader<>(
+            DataSource.ofResource(Point.class, "example.csv"),
+            new LabeledPointParser()));
+
+        BinaryClassifier<Point> svm = svm(2, 0.001);
+
+        return new ClassificationExperiment<>("Beispiel vom Übungsblatt",
+            svm, trainingSet, 500);
     }
 
     private static ClassificationExperiment<Message> smsExample() {
-        try {
-            var trainingSet = Dataset.load(new CSVDatasetLoader<>(
-                new File(Message.class.getResource("sms_train.csv").toURI()),
-                "\t", new LabeledMessageParser()));
-    
-            var evaluationSet = Dataset.load(new CSVDatasetLoader<>(
-                new File(Message.class.getResource("sms_eval.csv").toURI()),
-                "\t", new LabeledMessageParser()));
-    
-            System.out.println("Bereitet Vokabular vor ...");
-    
-            var vocabulary = TermFrequencyVectorizer.fromDataset(
-                trainingSet, 250, 4);
-    
-            System.out.println(
-                "Berechnet Feature-Vektoren der Trainingsdaten ...");
-    
-            for (var message : trainingSet) {
-                message.getSample().computeFeatures(vocabulary);
-            }
-    
-            System.out.println("Berechnet Feature-Vektoren der Testdaten ...");
-    
-            for (var message : evaluationSet) {
-                message.getSample().computeFeatures(vocabulary);
-            }
-    
-            BinaryClassifier<Message> svm = svm(vocabulary.size(), 0.01);
-    
-            return new ClassificationExperiment<>("SMS Spam",
-                svm, trainingSet, evaluationSet, 100);
-        } catch (URISyntaxException ex) {
-            return null;
+        var trainingSet = Dataset.load(new CSVDatasetLoader<>(
+            DataSource.ofResource(Message.class, "sms_train.csv"),
+            "\t", new LabeledMessageParser()));
+
+        var evaluationSet = Dataset.load(new CSVDatasetLoader<>(
+            DataSource.ofResource(Message.class, "sms_eval.csv"),
+            "\t", new LabeledMessageParser()));
+
+        System.out.println("Bereitet Vokabular vor ...");
+
+        var vocabulary = TermFrequencyVectorizer.fromDataset(
+            trainingSet, 250, 4);
+
+        System.out.println(
+            "Berechnet Feature-Vektoren der Trainingsdaten ...");
+
+        for (var message : trainingSet) {
+            message.getSample().computeFeatures(vocabulary);
+        }
+
+        System.out.println("Berechnet Feature-Vektoren der Testdaten ...");
+
+        for (var message : evaluationSet) {
+            message.getSample().computeFeatures(vocabulary);
         }
+
+        BinaryClassifier<Message> svm = svm(vocabulary.size(), 0.01);
+
+        return new ClassificationExperiment<>("SMS Spam",
+            svm, trainingSet, evaluationSet, 100);
     }
 
     @SuppressWarnings("unchecked")
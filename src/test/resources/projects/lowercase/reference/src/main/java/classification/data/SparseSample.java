@@ -0,0 +1,107 @@
+package classification.data;
+
+import java.util.Arrays;
+
+import classification.linalg.Vector;
+
+/**
+ * Modelliert einen Datenpunkt, dessen Feature-Vektor nur wenige von Null
+ * verschiedene Komponenten hat.
+ * Es werden lediglich die Indizes und Werte dieser Komponenten gespeichert.
+ * <br>
+ * Trainingsverfahren können über {@link #getNonZeroCount()},
+ * {@link #getIndex(int)} und {@link #getValue(int)} direkt auf den
+ * gespeicherten Komponenten arbeiten.
+ * {@link #getFeatures()} erzeugt hingegen bei jedem Aufruf einen vollständigen
+ * Vektor der Dimension {@link #getDimension()}.
+ *
+ * @author Kim Berninger
+ * @version 1.1.0
+ *
+ * @see classification.io.SVMLightDatasetLoader
+ */
+public class SparseSample implements Sample<SparseSample> {
+    private int dimension;
+    private int[] indices;
+    private double[] values;
+
+    /**
+     * Erzeugt einen dünnbesetzten Datenpunkt mit den übergebenen Komponenten.
+     * Die Arrays werden hierbei kopiert.
+     *
+     * @param dimension die Dimension des Feature-Vektors
+     * @param indices   die aufsteigend sortierten Indizes der von Null
+     *                  verschiedenen Komponenten
+     * @param values    die Werte der Komponenten in derselben Reihenfolge
+     *
+     * @throws IllegalArgumentException falls die Arrays unterschiedlich lang
+     *                                  sind oder die Indizes nicht streng
+     *                                  aufsteigend zwischen {@code 0} und
+     *                                  {@code dimension - 1} liegen
+     */
+    public SparseSample(int dimension, int[] indices, double[] values) {
+        if (indices.length != values.length) {
+            throw new IllegalArgumentException(String.format(
+                "%d Indizes, aber %d Werte", indices.length, values.length));
+        }
+        for (var k = 0; k < indices.length; k++) {
+            if (indices[k] < 0 || indices[k] >= dimension
+                || k > 0 && indices[k] <= indices[k - 1]) {
+                throw new IllegalArgumentException(
+                    String.format("Ungültiger Index: %d", indices[k]));
+            }
+        }
+        this.dimension = dimension;
+        this.indices = Arrays.copyOf(indices, indices.length);
+        this.values = Arrays.copyOf(values, values.length);
+    }
+
+    /**
+     * Liefert die Dimension des Feature-Vektors dieses Datenpunktes.
+     *
+     * @return die Dimension
+     */
+    public int getDimension() {
+        return dimension;
+    }
+
+    /**
+     * Liefert die Anzahl der gespeicherten Komponenten.
+     *
+     * @return die Anzahl der von Null verschiedenen Komponenten
+     */
+    public int getNonZeroCount() {
+        return indices.length;
+    }
+
+    /**
+     * Liefert den Index der {@code k}-ten gespeicherten Komponente.
+     *
+     * @param k die Position unter den gespeicherten Komponenten
+     *
+     * @return den Index der Komponente im Feature-Vektor
+     */
+    public int getIndex(int k) {
+        return indices[k];
+    }
+
+    /**
+     * Liefert den Wert der {@code k}-ten gespeicherten Komponente.
+     *
+     * @param k die Position unter den gespeicherten Komponenten
+     *
+     * @return den Wert der Komponente
+     */
+    public double getValue(int k) {
+        return values[k];
+    }
+
+    @Override
+    public Vector getFeatures() {
+        var features = new double[dimension];
+        for (var k = 0; k < indices.length; k++) {
+            features[indices[k]] = values[k];
+        }
+        return new Vector(features);
+    }
+}
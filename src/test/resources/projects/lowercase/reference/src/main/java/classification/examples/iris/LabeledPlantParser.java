@@ -1,9 +1,9 @@
 package classification.examples.iris;
 
-import java.util.Arrays;
-
 import classification.data.BinaryLabel;
 import classification.data.SupervisedSample;
+import classification.io.CSVTokenizer;
+import classification.io.RangeSampleParser;
 import classification.io.SampleParser;
 
 /**
@@ -18,8 +18,9 @@ import classification.io.SampleParser;
  * @version 1.1.0
  */
 public class LabeledPlantParser
-    implements SampleParser<SupervisedSample<IrisPlant, BinaryLabel>> {
-    private PlantClass positiveClass;
+    implements SampleParser<SupervisedSample<IrisPlant, BinaryLabel>>,
+    RangeSampleParser<SupervisedSample<IrisPlant, BinaryLabel>> {
+    private String positiveClassName;
     private PlantParser parser;
 
     /**
@@ -30,15 +31,26 @@ public class LabeledPlantParser
      *                      soll. Jede weitere Art zählt als Negativbeispiel.
      */
     public LabeledPlantParser(PlantClass positiveClass) {
-        this.positiveClass = positiveClass;
+        this.positiveClassName = positiveClass.toString();
         parser = new PlantParser();
     }
 
     @Override
     public SupervisedSample<IrisPlant, BinaryLabel> parse(String[] values) {
-        var plant = parser.parse(Arrays.copyOfRange(values, 0, 4));
+        var plant = parser.parse(values);
+
+        var label = values[4].equals(positiveClassName)
+            ? BinaryLabel.POSITIVE
+            : BinaryLabel.NEGATIVE;
+
+        return new SupervisedSample<>(plant, label);
+    }
+
+    @Override
+    public SupervisedSample<IrisPlant, BinaryLabel> parse(CSVTokenizer row) {
+        var plant = parser.parse(row);
 
-        var label = values[4].equals(positiveClass.toString())
+        var label = row.fieldEquals(4, positiveClassName)
             ? BinaryLabel.POSITIVE
             : BinaryLabel.NEGATIVE;
 
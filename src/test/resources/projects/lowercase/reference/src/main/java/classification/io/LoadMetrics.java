@@ -0,0 +1,81 @@
+package classification.io;
+
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+
+/**
+ * Sammelt die Messwerte eines einzelnen Ladevorgangs.
+ * Die Felder werden nur von dem Thread geschrieben, der die Datei liest, und
+ * erst am Ende des Ladevorgangs mit {@link LoadStatistics#record} in eine
+ * {@link LoadStatistics} übernommen.
+ *
+ * @author Kim Berninger
+ * @version 1.1.0
+ */
+final class LoadMetrics {
+    long bytesRead;
+    long rowsParsed;
+    long rowsRejected;
+    long ioTime;
+    long parseTime;
+    long waitTime;
+    long peakBufferedRows;
+
+    final long start = System.nanoTime();
+    final LoadEvent event = new LoadEvent();
+
+    LoadMetrics() {
+        event.begin();
+    }
+
+    void buffered(long rows) {
+        peakBufferedRows = Math.max(peakBufferedRows, rows);
+    }
+
+    InputStream counting(InputStream input) {
+        return new FilterInputStream(input) {
+            @Override
+            public int read() throws IOException {
+                var b = in.read();
+                if (b >= 0) {
+                    bytesRead++;
+                }
+                return b;
+            }
+
+            @Override
+            public int read(byte[] b, int off, int len) throws IOException {
+                var read = in.read(b, off, len);
+                if (read > 0) {
+                    bytesRead += read;
+                }
+                return read;
+            }
+        };
+    }
+
+    InputStream timing(InputStream input) {
+        return new FilterInputStream(input) {
+            @Override
+            public int read() throws IOException {
+                var time = System.nanoTime();
+                try {
+                    return in.read();
+                } finally {
+                    ioTime += System.nanoTime() - time;
+                }
+            }
+
+            @Override
+            public int read(byte[] b, int off, int len) throws IOException {
+                var time = System.nanoTime();
+                try {
+                    return in.read(b, off, len);
+                } finally {
+                    ioTime += System.nanoTime() - time;
+                }
+            }
+        };
+    }
+}
@@ -0,0 +1,281 @@
+package classification.io;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.io.UncheckedIOException;
+
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.StandardOpenOption;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import classification.data.Dataset;
+import classification.data.Sample;
+
+/**
+ * Wird verwendet, um einen Datensatz aus einer großen CSV-Datei mit mehreren
+ * Threads zu lesen.
+ * <br>
+ * Die Datei wird hierfür in Abschnitte zerlegt, deren Grenzen stets auf einen
+ * Zeilenumbruch fallen.
+ * Jeder Abschnitt wird mit {@link FileChannel#map} in den Speicher abgebildet
+ * und von einem eigenen Thread mit einem {@link CSVTokenizer} zerlegt und
+ * geparst.
+ * Die Teilergebnisse werden anschließend in der Reihenfolge der Datei zu einem
+ * Datensatz zusammengefügt, sodass das Ergebnis dem eines
+ * {@link CSVDatasetLoader}s mit demselben {@link CSVReader} entspricht.
+ * <br>
+ * Da jede Zeile unabhängig von den übrigen zerlegt werden muss, werden nur
+ * {@code CSVReader} mit einem einzelnen Trennzeichen ohne Anführungszeichen
+ * und ohne Kopfzeile unterstützt.
+ * Spalten können daher nur über {@link CSVReader#select(int...)} gewählt
+ * werden.
+ * <br>
+ * Da der {@link SampleParser} von mehreren Threads gleichzeitig verwendet
+ * wird, muss er threadsicher sein.
+ * Die Datei muss in UTF-8 kodiert sein.
+ * Eine gzip-komprimierte Datei lässt sich nicht an beliebigen Stellen
+ * zerlegen und wird daher wie von einem {@link CSVDatasetLoader} mit einem
+ * einzigen Thread gelesen und entpackt.
+ *
+ * @author Kim Berninger
+ * @version 1.1.0
+ *
+ * @param <S> der Subtyp von {@link Sample}, dem die Elemente des erzeugten
+ *            Datensatzes entsprechen sollen
+ *
+ * @see CSVDatasetLoader
+ */
+public class ParallelCSVDatasetLoader<S extends Sample<?>>
+    implements DatasetLoader<S> {
+    private static final long MIN_CHUNK_SIZE = 1 << 20;
+    private static final long MAX_CHUNK_SIZE = 1 << 26;
+    private static final int CHUNKS_PER_THREAD = 4;
+
+    private static final int SCAN_BUFFER_SIZE = 1 << 13;
+
+    private File csvFile;
+    private CSVReader reader;
+    private SampleParser<? extends S> parser;
+    private int parallelism;
+
+    /**
+     * Erzeugt einen {@code ParallelCSVDatasetLoader}, der einen Datensatz mit
+     * so vielen Threads, wie Prozessoren zur Verfügung stehen, aus der
+     * gegebenen CSV-Datei lesen kann.
+     * Die Datei wird mit einem {@link CSVReader#CSVReader()} zerlegt.
+     *
+     * @param csvFile die zu lesende CSV-Datei
+     * @param parser  der threadsichere Parser, der verwendet werden soll, um
+     *                eine Zeile der CSV-Datei in den zugehörigen Datenpunkt
+     *                umzuwandeln
+     */
+    public ParallelCSVDatasetLoader(File csvFile,
+        SampleParser<? extends S> parser) {
+        this(csvFile, new CSVReader(), parser);
+    }
+
+    /**
+     * Erzeugt einen {@code ParallelCSVDatasetLoader}, der einen Datensatz mit
+     * so vielen Threads, wie Prozessoren zur Verfügung stehen, aus der
+     * gegebenen CSV-Datei lesen kann.
+     *
+     * @param csvFile die zu lesende CSV-Datei
+     * @param reader  der {@link CSVReader}, der die Zeilen der CSV-Datei
+     *                zerlegen soll
+     * @param parser  der threadsichere Parser, der verwendet werden soll, um
+     *                eine Zeile der CSV-Datei in den zugehörigen Datenpunkt
+     *                umzuwandeln
+     *
+     * @throws IllegalArgumentException falls sich die Zeilen mit dem
+     *                                  {@code reader} nicht unabhängig
+     *                                  voneinander zerlegen lassen
+     */
+    public ParallelCSVDatasetLoader(File csvFile, CSVReader reader,
+        SampleParser<? extends S> parser) {
+        this(csvFile, reader, parser,
+            Runtime.getRuntime().availableProcessors());
+    }
+
+    /**
+     * Erzeugt einen {@code ParallelCSVDatasetLoader}, der einen Datensatz mit
+     * der angegebenen Anzahl an Threads aus der gegebenen CSV-Datei lesen
+     * kann.
+     *
+     * @param csvFile     die zu lesende CSV-Datei
+     * @param reader      der {@link CSVReader}, der die Zeilen der CSV-Datei
+     *                    zerlegen soll
+     * @param parser      der threadsichere Parser, der verwendet werden soll,
+     *                    um eine Zeile der CSV-Datei in den zugehörigen
+     *                    Datenpunkt umzuwandeln
+     * @param parallelism die Anzahl der Threads, die die Datei lesen sollen
+     *
+     * @throws IllegalArgumentException falls {@code parallelism} nicht positiv
+     *                                  ist oder sich die Zeilen mit dem
+     *                                  {@code reader} nicht unabhängig
+     *                                  voneinander zerlegen lassen
+     */
+    public ParallelCSVDatasetLoader(File csvFile, CSVReader reader,
+        SampleParser<? extends S> parser, int parallelism) {
+        if (parallelism < 1) {
+            throw new IllegalArgumentException(
+                String.format("Ungültige Anzahl an Threads: %d", parallelism));
+        }
+        checkSplittable(reader);
+        this.csvFile = csvFile;
+        this.reader = reader;
+        this.parser = parser;
+        this.parallelism = parallelism;
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * @throws IllegalArgumentException falls der {@link CSVReader} nach dem
+     *                                  Erzeugen dieses Loaders so verändert
+     *                                  wurde, dass sich seine Zeilen nicht
+     *                                  mehr unabhängig voneinander zerlegen
+     *                                  lassen
+     */
+    @Override
+    public Dataset<S> loadDataset() {
+        checkSplittable(reader);
+
+        var executor = Executors.newFixedThreadPool(parallelism);
+
+        try (var channel = FileChannel.open(
+            csvFile.toPath(), StandardOpenOption.READ)) {
+            if (isCompressed(channel)) {
+                return new CSVDatasetLoader<S>(csvFile, reader, parser)
+                    .loadDataset();
+            }
+
+            Dataset<S> samples = CSVDatasetLoader.createDataset();
+
+            var boundaries = chunkBoundaries(channel);
+
+            var chunks = new ArrayList<Future<List<S>>>();
+            for (var i = 0; i < boundaries.length - 1; i++) {
+                var start = boundaries[i];
+                var end = boundaries[i + 1];
+                chunks.add(executor.submit(
+                    () -> parseChunk(channel, start, end)));
+            }
+
+            for (var chunk : chunks) {
+                for (var sample : chunk.get()) {
+                    samples.add(sample);
+                }
+            }
+
+            return samples;
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new UncheckedIOException(new InterruptedIOException(
+                "Das Laden des Datensatzes wurde unterbrochen"));
+        } catch (ExecutionException e) {
+            var cause = e.getCause();
+            if (cause instanceof IOException) {
+                throw new UncheckedIOException((IOException) cause);
+            }
+            if (cause instanceof RuntimeException) {
+                throw (RuntimeException) cause;
+            }
+            throw (Error) cause;
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    private static void checkSplittable(CSVReader reader) {
+        if (!reader.isSplittable()) {
+            throw new IllegalArgumentException(
+                "Dateien mit Kopfzeile, Anführungszeichen oder regulären "
+                    + "Ausdrücken lassen sich nicht parallel lesen");
+        }
+    }
+
+    private static boolean isCompressed(FileChannel channel)
+        throws IOException {
+        var magic = ByteBuffer.allocate(2);
+        channel.read(magic, 0);
+        return magic.position() == 2 && (Byte.toUnsignedInt(magic.get(0))
+            | Byte.toUnsignedInt(magic.get(1)) << 8) == DataSource.GZIP_MAGIC;
+    }
+
+    private long[] chunkBoundaries(FileChannel channel) throws IOException {
+        var size = channel.size();
+
+        var chunkSize = Math.max(MIN_CHUNK_SIZE, Math.min(MAX_CHUNK_SIZE,
+            size / ((long) parallelism * CHUNKS_PER_THREAD) + 1));
+
+        var boundaries = new ArrayList<Long>();
+        boundaries.add(0L);
+
+        var scan = ByteBuffer.allocate(SCAN_BUFFER_SIZE);
+        var start = 0L;
+
+        while (size - start > chunkSize) {
+            var position = start + chunkSize;
+            var end = -1L;
+
+            while (end < 0 && position < size) {
+                scan.clear();
+                var read = channel.read(scan, position);
+                for (var i = 0; i < read; i++) {
+                    if (scan.get(i) == '\n') {
+                        end = position + i + 1;
+                        break;
+                    }
+                }
+                position += Math.max(read, 0);
+            }
+
+            if (end < 0 || end >= size) {
+                break;
+            }
+
+            boundaries.add(end);
+            start = end;
+        }
+
+        boundaries.add(size);
+
+        return boundaries.stream().mapToLong(Long::longValue).toArray();
+    }
+
+    private List<S> parseChunk(FileChannel channel, long start, long end)
+        throws IOException {
+        var bytes = channel.map(FileChannel.MapMode.READ_ONLY,
+            start, end - start);
+        var chars = StandardCharsets.UTF_8.decode(bytes);
+
+        var samples = new ArrayList<S>();
+
+        try (var tokenizer = reader.tokenize(chars.array(), chars.limit())) {
+            if (parser instanceof RangeSampleParser<?>) {
+                @SuppressWarnings("unchecked")
+                var rangeParser = (RangeSampleParser<? extends S>) parser;
+
+                while (tokenizer.nextRow()) {
+                    samples.add(rangeParser.parse(tokenizer));
+                }
+            } else {
+                while (tokenizer.nextRow()) {
+                    samples.add(parser.parse(tokenizer.getFields(null)));
+                }
+            }
+        }
+
+        return samples;
+    }
+}
@@ -0,0 +1,422 @@
+package classification.io;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.io.UncheckedIOException;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.atomic.AtomicLong;
+
+import classification.data.Dataset;
+import classification.data.Sample;
+
+/**
+ * Lädt einen Datensatz mit einem {@link CSVDatasetLoader} in einem
+ * Hintergrund-Thread, während der Datensatz bereits verwendet werden kann.
+ * <br>
+ * {@link #loadDataset()} kehrt sofort zurück.
+ * Der gelieferte Datensatz wird im Hintergrund blockweise gefüllt, wobei die
+ * geparsten Blöcke über eine Warteschlange begrenzter Kapazität übergeben
+ * werden.
+ * Ein Iterator über den Datensatz liefert die Datenpunkte, sobald der Block,
+ * in dem sie stehen, geparst wurde, und wartet nur dann, wenn er den
+ * Hintergrund-Thread eingeholt hat.
+ * Ein Online-Verfahren wie
+ * {@link classification.models.OnlineClassifier#partialFit(Iterable)} kann so
+ * bereits trainieren, während der Rest der Datei noch gelesen wird.
+ * {@link classification.models.LinearSVM#fit(Iterable, int)} liest den
+ * Datensatz hingegen zunächst vollständig in eine eigene Trainingsmenge ein
+ * und beginnt daher erst nach dem Laden mit der ersten Epoche.
+ * <br>
+ * Ist die Warteschlange voll, so pausiert der Hintergrund-Thread, bis wieder
+ * Blöcke entnommen wurden.
+ * Es befinden sich also nie mehr als {@code capacity} geparste, aber noch
+ * nicht abgerufene Blöcke in der Warteschlange.
+ * Begrenzt ist hierbei nur dieser Vorlauf: Damit der Datensatz mehrfach
+ * durchlaufen werden kann, behält er alle abgerufenen Blöcke, sodass er nach
+ * dem ersten Durchlauf vollständig im Speicher liegt.
+ * Wird der Datensatz nur einmal benötigt, so lässt sich mit
+ * {@link #singlePass()} festlegen, dass abgerufene Blöcke wieder freigegeben
+ * werden.
+ * Der Speicherbedarf bleibt dann unabhängig von der Größe der Datei auf etwa
+ * {@code capacity + 1} Blöcke begrenzt.
+ * <br>
+ * Tritt beim Laden ein Fehler auf, so wird dieser beim Erreichen der
+ * fehlerhaften Stelle vom Iterator geworfen, wobei eine {@link IOException}
+ * in eine {@link UncheckedIOException} verpackt wird.
+ * {@link Dataset#shuffle()} und {@link Dataset#add(Sample)} warten, bis der
+ * gesamte Datensatz geladen wurde.
+ * Wird der Datensatz nicht vollständig durchlaufen, so sollte er mit
+ * {@link PrefetchedDataset#close()} geschlossen werden.
+ * Andernfalls bleibt der Hintergrund-Thread bei voller Warteschlange
+ * blockiert und hält die Datei geöffnet, verhindert jedoch nicht das Beenden
+ * der Anwendung.
+ * <blockquote>
+ *   <pre><code>
+ *var prefetching = new PrefetchingDatasetLoader&lt;&gt;(loader).singlePass();
+ *try (var samples = prefetching.loadDataset()) {
+ *    classifier.partialFit(samples);
+ *}
+ *   </code></pre>
+ * </blockquote>
+ *
+ * @author Kim Berninger
+ * @version 1.1.0
+ *
+ * @param <S> der Subtyp von {@link Sample}, dem die Elemente des erzeugten
+ *            Datensatzes entsprechen sollen
+ */
+public class PrefetchingDatasetLoader<S extends Sample<?>>
+    implements DatasetLoader<S> {
+    private static final int STANDARD_BLOCK_SIZE = 1024;
+    private static final int STANDARD_CAPACITY = 16;
+
+    private CSVDatasetLoader<S> source;
+    private int blockSize;
+    private int capacity;
+    private boolean singlePass;
+
+    /**
+     * Erzeugt einen {@code PrefetchingDatasetLoader}, der die Datei des
+     * übergebenen {@link CSVDatasetLoader}s in Blöcken zu je
+     * {@value #STANDARD_BLOCK_SIZE} Datenpunkten lädt und höchstens
+     * {@value #STANDARD_CAPACITY} Blöcke im Voraus liest.
+     *
+     * @param source der Loader, dessen Datei und Parser verwendet werden
+     *               sollen
+     */
+    public PrefetchingDatasetLoader(CSVDatasetLoader<S> source) {
+        this(source, STANDARD_BLOCK_SIZE, STANDARD_CAPACITY);
+    }
+
+    /**
+     * Erzeugt einen {@code PrefetchingDatasetLoader}, der die Datei des
+     * übergebenen {@link CSVDatasetLoader}s in Blöcken der angegebenen Größe
+     * lädt.
+     *
+     * @param source    der Loader, dessen Datei und Parser verwendet werden
+     *                  sollen
+     * @param blockSize die Anzahl der Datenpunkte je Block
+     * @param capacity  die Anzahl der Blöcke, die höchstens im Voraus gelesen
+     *                  werden
+     *
+     * @throws IllegalArgumentException falls {@code blockSize} oder
+     *                                  {@code capacity} nicht positiv ist
+     */
+    public PrefetchingDatasetLoader(CSVDatasetLoader<S> source, int blockSize,
+        int capacity) {
+        if (blockSize < 1) {
+            throw new IllegalArgumentException(
+                String.format("Ungültige Blockgröße: %d", blockSize));
+        }
+        if (capacity < 1) {
+            throw new IllegalArgumentException(
+                String.format("Ungültige Kapazität: %d", capacity));
+        }
+        this.source = source;
+        this.blockSize = blockSize;
+        this.capacity = capacity;
+    }
+
+    /**
+     * Legt fest, dass jeder geladene Datensatz nur ein einziges Mal
+     * durchlaufen werden kann.
+     * Abgerufene Blöcke werden dann sofort wieder freigegeben, sodass nie mehr
+     * als etwa {@code capacity + 1} Blöcke im Speicher liegen.
+     * Ein zweiter Aufruf von {@link Dataset#iterator()} wirft anschließend
+     * eine {@link IllegalStateException}, {@link Dataset#shuffle()} und
+     * {@link Dataset#add(Sample)} werfen eine
+     * {@link UnsupportedOperationException}.
+     *
+     * @return diesen {@code PrefetchingDatasetLoader}
+     */
+    public PrefetchingDatasetLoader<S> singlePass() {
+        singlePass = true;
+        return this;
+    }
+
+    @Override
+    public PrefetchedDataset<S> loadDataset() {
+        return load(null);
+    }
+
+    /**
+     * Lädt den Datensatz wie {@link #loadDataset()} und misst dabei den
+     * Ladevorgang.
+     * Die Messwerte werden erst in die Statistik übernommen, wenn der
+     * Hintergrund-Thread die gesamte Datei gelesen hat, spätestens also,
+     * wenn der Datensatz einmal vollständig durchlaufen wurde.
+     * Als gepuffert gelten hierbei die Datenpunkte, die bereits geparst, aber
+     * noch nicht vom Iterator abgerufen wurden.
+     * Die Zeit, die der Hintergrund-Thread bei voller Warteschlange wartet,
+     * wird als Wartezeit gezählt.
+     *
+     * @param statistics die Statistik, in die die Messwerte übernommen werden
+     * @return den Datensatz, der im Hintergrund gefüllt wird
+     *
+     * @see LoadStatistics
+     */
+    public PrefetchedDataset<S> loadDataset(LoadStatistics statistics) {
+        return load(statistics);
+    }
+
+    private PrefetchedDataset<S> load(LoadStatistics statistics) {
+        Dataset<S> complete = CSVDatasetLoader.createDataset();
+
+        var dataset =
+            new PrefetchedDataset<S>(complete, capacity, singlePass);
+        dataset.start(source, blockSize, statistics);
+        return dataset;
+    }
+
+    /**
+     * Ein Datensatz, der von einem {@code PrefetchingDatasetLoader} im
+     * Hintergrund gefüllt wird.
+     *
+     * @param <S> der Subtyp von {@link Sample}, dem die Elemente dieses
+     *            Datensatzes entsprechen
+     */
+    public static final class PrefetchedDataset<S extends Sample<?>>
+        implements Dataset<S>, Closeable {
+        private final List<S> end = new ArrayList<>();
+
+        private BlockingQueue<List<S>> queue;
+        private volatile Throwable failure;
+        private volatile boolean closed;
+        private volatile boolean exhausted;
+        private AtomicLong queuedRows = new AtomicLong();
+        private Thread producer;
+
+        private List<List<S>> blocks = new ArrayList<>();
+        private boolean finished;
+
+        private Dataset<S> complete;
+        private boolean materialized;
+
+        private boolean singlePass;
+        private boolean iterated;
+
+        private PrefetchedDataset(Dataset<S> complete, int capacity,
+            boolean singlePass) {
+            this.complete = complete;
+            this.queue = new ArrayBlockingQueue<>(capacity);
+            this.singlePass = singlePass;
+        }
+
+        /**
+         * Beendet das Laden im Hintergrund und wartet, bis der
+         * Hintergrund-Thread die Datei geschlossen hat.
+         * Wurde die Datei zu diesem Zeitpunkt bereits vollständig gelesen,
+         * so kann der Datensatz weiterhin verwendet werden.
+         * Andernfalls wirft jeder weitere Zugriff auf noch nicht geladene
+         * Datenpunkte eine {@link IllegalStateException}.
+         */
+        @Override
+        public void close() {
+            closed = true;
+            producer.interrupt();
+
+            var interrupted = false;
+            while (true) {
+                try {
+                    producer.join();
+                    break;
+                } catch (InterruptedException e) {
+                    interrupted = true;
+                }
+            }
+            if (interrupted) {
+                Thread.currentThread().interrupt();
+            }
+        }
+
+        private void start(CSVDatasetLoader<S> source, int blockSize,
+            LoadStatistics statistics) {
+            producer = new Thread(
+                () -> produce(source, blockSize, statistics),
+                "Prefetch " + source.getSource().getName());
+            producer.setDaemon(true);
+            producer.start();
+        }
+
+        @Override
+        public void add(S sample) {
+            materialize().add(sample);
+        }
+
+        @Override
+        public void shuffle() {
+            materialize().shuffle();
+        }
+
+        @Override
+        public Iterator<S> iterator() {
+            synchronized (this) {
+                if (materialized) {
+                    return complete.iterator();
+                }
+                if (singlePass && iterated) {
+                    throw new IllegalStateException(
+                        "Der Datensatz wurde bereits durchlaufen");
+                }
+                iterated = true;
+            }
+
+            return new Iterator<>() {
+                private int blockIndex;
+                private List<S> block = List.of();
+                private int position;
+
+                @Override
+                public boolean hasNext() {
+                    while (position == block.size()) {
+                        var next = block(blockIndex);
+                        if (next == null) {
+                            return false;
+                        }
+                        block = next;
+                        blockIndex++;
+                        position = 0;
+                    }
+                    return true;
+                }
+
+                @Override
+                public S next() {
+                    if (!hasNext()) {
+                        throw new NoSuchElementException();
+                    }
+                    return block.get(position++);
+                }
+            };
+        }
+
+        private void produce(CSVDatasetLoader<S> source, int blockSize,
+            LoadStatistics statistics) {
+            var metrics = statistics == null ? null : new LoadMetrics();
+            try {
+                var block = new ArrayList<S>(blockSize);
+                source.forEachSample(sample -> {
+                    block.add(sample);
+                    if (block.size() == blockSize) {
+                        publish(new ArrayList<>(block), metrics);
+                        block.clear();
+                    }
+                }, metrics);
+                if (metrics != null) {
+                    metrics.buffered(queuedRows.get() + block.size());
+                    statistics.record(metrics, source.getSource());
+                }
+                if (!block.isEmpty()) {
+                    publish(block, null);
+                }
+                exhausted = true;
+            } catch (Throwable e) {
+                if (!closed) {
+                    failure = e;
+                }
+            } finally {
+                finish();
+            }
+        }
+
+        private void finish() {
+            while (true) {
+                if (closed && !exhausted) {
+                    queue.clear();
+                    queue.offer(end);
+                    return;
+                }
+                try {
+                    queue.put(end);
+                    return;
+                } catch (InterruptedException e) {
+                    // close() setzt closed vor der Unterbrechung
+                }
+            }
+        }
+
+        private void publish(List<S> block, LoadMetrics metrics) {
+            var time = metrics == null ? 0 : System.nanoTime();
+            try {
+                queue.put(block);
+            } catch (InterruptedException e) {
+                throw new CancellationException(
+                    "Das Laden des Datensatzes wurde abgebrochen");
+            }
+
+            var queued = queuedRows.addAndGet(block.size());
+            if (metrics != null) {
+                metrics.waitTime += System.nanoTime() - time;
+                metrics.buffered(queued);
+            }
+        }
+
+        private synchronized List<S> block(int index) {
+            while (index >= blocks.size() && !finished) {
+                List<S> block;
+                try {
+                    block = queue.take();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    throw new UncheckedIOException(new InterruptedIOException(
+                        "Das Laden des Datensatzes wurde unterbrochen"));
+                }
+
+                if (block == end) {
+                    finished = true;
+                } else {
+                    queuedRows.addAndGet(-block.size());
+                    blocks.add(block);
+                }
+            }
+
+            if (index < blocks.size()) {
+                var block = blocks.get(index);
+                if (singlePass) {
+                    blocks.set(index, null);
+                }
+                return block;
+            }
+
+            var cause = failure;
+            if (cause instanceof IOException) {
+                throw new UncheckedIOException((IOException) cause);
+            }
+            if (cause instanceof RuntimeException) {
+                throw (RuntimeException) cause;
+            }
+            if (cause instanceof Error) {
+                throw (Error) cause;
+            }
+            if (closed && !exhausted) {
+                throw new IllegalStateException(
+                    "Der Datensatz wurde vor dem Ende der Datei geschlossen");
+            }
+            return null;
+        }
+
+        private synchronized Dataset<S> materialize() {
+            if (singlePass) {
+                throw new UnsupportedOperationException(
+                    "Der Datensatz kann nur einmal durchlaufen werden");
+            }
+            if (!materialized) {
+                for (var index = 0; block(index) != null; index++) {
+                    for (var sample : blocks.get(index)) {
+                        complete.add(sample);
+                    }
+                }
+                materialized = true;
+            }
+            return complete;
+        }
+    }
+}
@@ -0,0 +1,157 @@
+package classification.io;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Sammelt die Zeilen einer CSV-Datei, die beim Laden eines Datensatzes
+ * verworfen wurden, zusammen mit ihrer Zeilennummer und dem Grund.
+ * <br>
+ * Um den Speicherbedarf bei sehr fehlerhaften Dateien zu begrenzen, werden nur
+ * die ersten {@code capacity} verworfenen Zeilen gespeichert.
+ * Alle weiteren werden lediglich gezählt.
+ *
+ * @author Kim Berninger
+ * @version 1.1.0
+ *
+ * @see TolerantCSVDatasetLoader
+ */
+public class Quarantine {
+    private static final int STANDARD_CAPACITY = 100;
+
+    private int capacity;
+    private List<Entry> entries = new ArrayList<>();
+    private long rejectedCount;
+
+    /**
+     * Beschreibt eine verworfene Zeile.
+     */
+    public static final class Entry {
+        private long lineNumber;
+        private String reason;
+        private List<String> fields;
+
+        Entry(long lineNumber, String reason, String[] fields) {
+            this.lineNumber = lineNumber;
+            this.reason = reason;
+            this.fields = List.of(fields);
+        }
+
+        /**
+         * Liefert die Nummer der verworfenen Zeile in der Datei.
+         *
+         * @return die Zeilennummer, beginnend bei {@code 1}
+         */
+        public long getLineNumber() {
+            return lineNumber;
+        }
+
+        /**
+         * Liefert den Grund, aus dem die Zeile verworfen wurde.
+         *
+         * @return eine Beschreibung des Fehlers
+         */
+        public String getReason() {
+            return reason;
+        }
+
+        /**
+         * Liefert die Elemente der verworfenen Zeile.
+         *
+         * @return eine unveränderliche Liste der Elemente
+         */
+        public List<String> getFields() {
+            return fields;
+        }
+
+        @Override
+        public String toString() {
+            return String.format("Zeile %d: %s %s",
+                lineNumber, reason, fields);
+        }
+    }
+
+    /**
+     * Erzeugt eine leere {@code Quarantine}, die höchstens
+     * {@value #STANDARD_CAPACITY} verworfene Zeilen speichert.
+     */
+    public Quarantine() {
+        this(STANDARD_CAPACITY);
+    }
+
+    /**
+     * Erzeugt eine leere {@code Quarantine}, die höchstens {@code capacity}
+     * verworfene Zeilen speichert.
+     *
+     * @param capacity die Anzahl der Zeilen, die höchstens gespeichert werden
+     *
+     * @throws IllegalArgumentException falls {@code capacity} negativ ist
+     */
+    public Quarantine(int capacity) {
+        if (capacity < 0) {
+            throw new IllegalArgumentException(
+                String.format("Ungültige Kapazität: %d", capacity));
+        }
+        this.capacity = capacity;
+    }
+
+    /**
+     * Verwirft eine Zeile.
+     * Die Elemente der Zeile werden nur dann gespeichert, wenn die Kapazität
+     * noch nicht erschöpft ist.
+     *
+     * @param lineNumber die Nummer der Zeile in der Datei
+     * @param reason     der Grund, aus dem die Zeile verworfen wird
+     * @param fields     die Elemente der Zeile
+     */
+    public synchronized void reject(long lineNumber, String reason,
+        String[] fields) {
+        rejectedCount++;
+        if (entries.size() < capacity) {
+            entries.add(new Entry(lineNumber, reason, fields));
+        }
+    }
+
+    /**
+     * Liefert die Anzahl aller verworfenen Zeilen, einschließlich derer, die
+     * wegen der begrenzten Kapazität nicht gespeichert wurden.
+     *
+     * @return die Anzahl der verworfenen Zeilen
+     */
+    public synchronized long getRejectedCount() {
+        return rejectedCount;
+    }
+
+    /**
+     * Liefert die gespeicherten verworfenen Zeilen in der Reihenfolge, in der
+     * sie verworfen wurden.
+     *
+     * @return eine unveränderliche Liste der gespeicherten Zeilen
+     */
+    public synchronized List<Entry> getEntries() {
+        return List.copyOf(entries);
+    }
+
+    /**
+     * Prüft, ob mehr Zeilen verworfen wurden, als gespeichert werden konnten.
+     *
+     * @return {@code true}, falls nicht alle verworfenen Zeilen gespeichert
+     *         wurden
+     */
+    public synchronized boolean isTruncated() {
+        return rejectedCount > entries.size();
+    }
+
+    @Override
+    public synchronized String toString() {
+        var report = new StringBuilder(String.format(
+            "%d verworfene Zeilen", rejectedCount));
+        for (var entry : entries) {
+            report.append(System.lineSeparator()).append(entry);
+        }
+        if (isTruncated()) {
+            report.append(System.lineSeparator()).append("...");
+        }
+        return report.toString();
+    }
+}
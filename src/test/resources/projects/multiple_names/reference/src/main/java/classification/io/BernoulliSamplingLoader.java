@@ -0,0 +1,94 @@
+package classification.io;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+
+import java.util.Random;
+
+import classification.data.Dataset;
+import classification.data.Sample;
+
+/**
+ * Lädt eine Zufallsstichprobe aus einer CSV-Datei, in der jede Zeile
+ * unabhängig von allen anderen mit einer festen Wahrscheinlichkeit enthalten
+ * ist.
+ * Die Datei wird hierbei in einem einzigen Durchlauf gelesen und nur die
+ * ausgewählten Zeilen werden mit dem {@link SampleParser} des zugrunde
+ * liegenden {@link CSVDatasetLoader}s in Datenpunkte umgewandelt.
+ * Die Datenpunkte im resultierenden Datensatz behalten die Reihenfolge bei, in
+ * der sie in der Datei stehen.
+ *
+ * @author Kim Berninger
+ * @version 1.1.0
+ *
+ * @param <S> der Subtyp von {@link Sample}, dem die Elemente des erzeugten
+ *            Datensatzes entsprechen sollen
+ *
+ * @see ReservoirSamplingLoader
+ * @see StratifiedSamplingLoader
+ */
+public class BernoulliSamplingLoader<S extends Sample<?>>
+    implements DatasetLoader<S> {
+    private CSVDatasetLoader<S> source;
+    private double fraction;
+    private Random random;
+
+    /**
+     * Erzeugt einen {@code BernoulliSamplingLoader}, der jede Zeile der Datei
+     * des übergebenen {@link CSVDatasetLoader}s mit der Wahrscheinlichkeit
+     * {@code fraction} in die Stichprobe aufnimmt.
+     *
+     * @param source   der Loader, dessen Datei und Parser verwendet werden
+     *                 sollen
+     * @param fraction der erwartete Anteil der Zeilen, die geladen werden
+     *                 sollen
+     *
+     * @throws IllegalArgumentException falls {@code fraction} nicht zwischen
+     *                                  {@code 0} und {@code 1} liegt
+     */
+    public BernoulliSamplingLoader(CSVDatasetLoader<S> source,
+        double fraction) {
+        this(source, fraction, new Random());
+    }
+
+    /**
+     * Erzeugt einen {@code BernoulliSamplingLoader}, der jede Zeile der Datei
+     * des übergebenen {@link CSVDatasetLoader}s mit der Wahrscheinlichkeit
+     * {@code fraction} in die Stichprobe aufnimmt.
+     *
+     * @param source   der Loader, dessen Datei und Parser verwendet werden
+     *                 sollen
+     * @param fraction der erwartete Anteil der Zeilen, die geladen werden
+     *                 sollen
+     * @param random   der Zufallsgenerator, mit dem die Stichprobe gezogen
+     *                 werden soll
+     *
+     * @throws IllegalArgumentException falls {@code fraction} nicht zwischen
+     *                                  {@code 0} und {@code 1} liegt
+     */
+    public BernoulliSamplingLoader(CSVDatasetLoader<S> source,
+        double fraction, Random random) {
+        if (!(fraction >= 0 && fraction <= 1)) {
+            throw new IllegalArgumentException(
+                String.format("Ungültiger Anteil: %f", fraction));
+        }
+        this.source = source;
+        this.fraction = fraction;
+        this.random = random;
+    }
+
+    @Override
+    public Dataset<S> loadDataset() {
+        try (var rows = source.rows()) {
+            Dataset<S> samples = CSVDatasetLoader.createDataset();
+
+            rows.filter(row -> random.nextDouble() < fraction)
+                .map(source::parse)
+                .forEachOrdered(samples::add);
+
+            return samples;
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+}
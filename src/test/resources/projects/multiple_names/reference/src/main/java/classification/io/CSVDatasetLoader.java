@@ -4,11 +4,22 @@ import java.io.File;
 import java.io.IOException;
 import java.io.UncheckedIOException;
 
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+
 import classification.data.Dataset;
 import classification.data.Sample;
 
 /**
  * Wird verwendet, um einen Datensatz aus einer CSV-Datei zu lesen.
+ * <br>
+ * Die CSV-Datei kann hierbei aus einer beliebigen {@link DataSource} gelesen
+ * werden, zum Beispiel direkt aus einem JAR-Archiv, ohne zuvor in eine
+ * temporäre Datei kopiert zu werden.
+ * <br>
+ * Die geladenen Datenpunkte werden in einem {@code ListDataset} abgelegt.
+ * Lässt sich dieses nicht erzeugen, so werfen dieser und alle übrigen Loader
+ * dieses Pakets eine {@link IllegalStateException}.
  *
  * @author Kim Berninger
  * @version 1.1.0
@@ -17,7 +28,7 @@ import classification.data.Sample;
  *            Datensatzes entsprechen sollen
  */
 public class CSVDatasetLoader<S extends Sample<?>> implements DatasetLoader<S> {
-    private File csvFile;
+    private DataSource source;
     private CSVReader reader;
     private SampleParser<? extends S> parser;
 
@@ -35,9 +46,7 @@ public class CSVDatasetLoader<S extends Sample<?>> implements DatasetLoader<S> {
      */
     public CSVDatasetLoader(File csvFile, String separator,
         SampleParser<? extends S> parser) {
-        this.csvFile = csvFile;
-        this.reader = new CSVReader(separator);
-        this.parser = parser;
+        this(DataSource.of(csvFile), new CSVReader(separator), parser);
     }
 
     /**
@@ -53,30 +62,177 @@ public class CSVDatasetLoader<S extends Sample<?>> implements DatasetLoader<S> {
      * @see CSVReader#CSVReader()
      */
     public CSVDatasetLoader(File csvFile, SampleParser<? extends S> parser) {
-        this.csvFile = csvFile;
-        this.reader = new CSVReader();
+        this(DataSource.of(csvFile), parser);
+    }
+
+    /**
+     * Erzeugt einen {@code CSVDatasetLoader}, der einen Datzensatz mit dem
+     * übergebenen {@link CSVReader} aus der gegebenen CSV-Datei lesen kann.
+     *
+     * @param csvFile die zu lesende CSV-Datei
+     * @param reader  der {@code CSVReader}, mit dem die Datei gelesen werden
+     *                soll, zum Beispiel einer für Dateien nach RFC 4180
+     * @param parser  der Parser, der verwendet werden soll, um eine Zeile der
+     *                CSV-Datei in den zugehörigen Datenpunkt umzuwandeln
+     *
+     * @see CSVReader#CSVReader(char, char)
+     */
+    public CSVDatasetLoader(File csvFile, CSVReader reader,
+        SampleParser<? extends S> parser) {
+        this(DataSource.of(csvFile), reader, parser);
+    }
+
+    /**
+     * Erzeugt einen {@code CSVDatasetLoader}, der einen Datzensatz aus der
+     * gegebenen Quelle lesen kann.
+     *
+     * @param source    die Quelle der zu lesenden CSV-Datei, zum Beispiel eine
+     *                  Ressource aus dem Klassenpfad
+     * @param separator der Ausdruck, der in der CSV-Datei als Trennzeichen
+     *                  verwendet wird
+     * @param parser    der Parser, der verwendet werden soll, um eine Zeile der
+     *                  CSV-Datei in den zugehörigen Datenpunkt umzuwandeln
+     *
+     * @see DataSource#ofResource(Class, String)
+     */
+    public CSVDatasetLoader(DataSource source, String separator,
+        SampleParser<? extends S> parser) {
+        this(source, new CSVReader(separator), parser);
+    }
+
+    /**
+     * Erzeugt einen {@code CSVDatasetLoader}, der einen Datzensatz aus der
+     * gegebenen Quelle lesen kann.
+     * Das verwendete Trennzeichen entspricht dem Standard-Trennzeichen, das in
+     * {@link CSVReader#CSVReader()} gesetzt wird.
+     *
+     * @param source die Quelle der zu lesenden CSV-Datei, zum Beispiel eine
+     *               Ressource aus dem Klassenpfad
+     * @param parser der Parser, der verwendet werden soll, um eine Zeile der
+     *               CSV-Datei in den zugehörigen Datenpunkt umzuwandeln
+     *
+     * @see DataSource#ofResource(Class, String)
+     */
+    public CSVDatasetLoader(DataSource source,
+        SampleParser<? extends S> parser) {
+        this(source, new CSVReader(), parser);
+    }
+
+    /**
+     * Erzeugt einen {@code CSVDatasetLoader}, der einen Datzensatz mit dem
+     * übergebenen {@link CSVReader} aus der gegebenen Quelle lesen kann.
+     *
+     * @param source die Quelle der zu lesenden CSV-Datei, zum Beispiel eine
+     *               Ressource aus dem Klassenpfad
+     * @param reader der {@code CSVReader}, mit dem die Quelle gelesen werden
+     *               soll
+     * @param parser der Parser, der verwendet werden soll, um eine Zeile der
+     *               CSV-Datei in den zugehörigen Datenpunkt umzuwandeln
+     */
+    public CSVDatasetLoader(DataSource source, CSVReader reader,
+        SampleParser<? extends S> parser) {
+        this.source = source;
+        this.reader = reader;
         this.parser = parser;
     }
 
     @Override
     public Dataset<S> loadDataset() {
+        return load(null);
+    }
+
+    /**
+     * Lädt den Datensatz wie {@link #loadDataset()} und misst dabei den
+     * Ladevorgang.
+     *
+     * @param statistics die Statistik, in die die Messwerte übernommen werden
+     * @return den geladenen Datensatz
+     *
+     * @see LoadStatistics
+     */
+    public Dataset<S> loadDataset(LoadStatistics statistics) {
+        var metrics = new LoadMetrics();
+        var samples = load(metrics);
+        metrics.buffered(metrics.rowsParsed);
+        statistics.record(metrics, source);
+        return samples;
+    }
+
+    private Dataset<S> load(LoadMetrics metrics) {
         try {
+            Dataset<S> samples = createDataset();
+            forEachSample(samples::add, metrics);
+            return samples;
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    void forEachSample(Consumer<? super S> action) throws IOException {
+        forEachSample(action, null);
+    }
+
+    void forEachSample(Consumer<? super S> action, LoadMetrics metrics)
+        throws IOException {
+        if (parser instanceof RangeSampleParser<?> && reader.isTokenizing()) {
             @SuppressWarnings("unchecked")
-            Dataset<S> samples = Class
-                .forName("classification.data.ListDataset")
-                .asSubclass(Dataset.class).getConstructor().newInstance();
+            var rangeParser = (RangeSampleParser<? extends S>) parser;
 
-            for (var line : reader.readFile(csvFile)) {
-                samples.add(parser.parse(line));
+            try (var tokenizer = reader.tokenize(source, metrics)) {
+                if (metrics == null) {
+                    while (tokenizer.nextRow()) {
+                        action.accept(rangeParser.parse(tokenizer));
+                    }
+                    return;
+                }
+
+                while (tokenizer.nextRow()) {
+                    var time = System.nanoTime();
+                    action.accept(rangeParser.parse(tokenizer));
+                    metrics.parseTime += System.nanoTime() - time;
+                    metrics.rowsParsed++;
+                }
             }
+        } else {
+            reader.readFile(source, row -> action.accept(parser.parse(row)),
+                metrics);
+        }
+    }
+
+    DataSource getSource() {
+        return source;
+    }
+
+    File getFile() {
+        return source.getFile();
+    }
+
+    CSVReader getReader() {
+        return reader;
+    }
+
+    SampleParser<? extends S> getParser() {
+        return parser;
+    }
+
+    Stream<String[]> rows() throws IOException {
+        return reader.streamFile(source);
+    }
+
+    S parse(String[] row) {
+        return parser.parse(row);
+    }
 
+    static <S extends Sample<?>> Dataset<S> createDataset() {
+        try {
+            @SuppressWarnings("unchecked")
+            Dataset<S> samples = Class
+                .forName("classification.data.ListDataset")
+                .asSubclass(Dataset.class).getConstructor().newInstance();
             return samples;
         } catch (ReflectiveOperationException e) {
-            System.err
-                .println("ListDataset-Objekt konnte nicht erzeugt werden");
-            return null;
-        } catch (IOException e) {
-            throw new UncheckedIOException(e);
+            throw new IllegalStateException(
+                "ListDataset-Objekt konnte nicht erzeugt werden", e);
         }
     }
 }
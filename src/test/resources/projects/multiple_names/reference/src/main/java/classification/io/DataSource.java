@@ -0,0 +1,268 @@
+package classification.io;
+
+import java.io.BufferedInputStream;
+import java.io.File;
+import java.io.FileNotFoundException;
+import java.io.IOException;
+import java.io.InputStream;
+
+import java.net.URISyntaxException;
+
+import java.nio.channels.Channels;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.file.FileSystems;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import java.util.zip.GZIPInputStream;
+
+/**
+ * Beschreibt die Quelle, aus der ein {@link CSVReader} die Zeichen einer
+ * CSV-Datei liest.
+ * <br>
+ * Neben Dateien können auch {@link Path}s beliebiger Dateisysteme, zum
+ * Beispiel innerhalb eines JAR-Archivs, Ressourcen aus dem Klassenpfad sowie
+ * bereits geöffnete {@link InputStream}s und {@link ReadableByteChannel}s
+ * gelesen werden, ohne dass sie zuvor in eine temporäre Datei kopiert werden
+ * müssen.
+ * <br>
+ * Jede Quelle wird gepuffert gelesen.
+ * Beginnt ihr Inhalt mit der Kennung des gzip-Formats, so wird er beim Lesen
+ * mit einem {@link GZIPInputStream} entpackt.
+ * <br>
+ * Quellen, die auf einem bereits geöffneten Stream oder Kanal beruhen, können
+ * nur ein einziges Mal gelesen werden.
+ *
+ * @author Kim Berninger
+ * @version 1.1.0
+ *
+ * @see CSVReader#tokenize(DataSource)
+ * @see CSVDatasetLoader#CSVDatasetLoader(DataSource, SampleParser)
+ */
+public final class DataSource {
+    private static final int BUFFER_SIZE = 1 << 16;
+
+    static final int GZIP_MAGIC = 0x8b1f;
+
+    private static final String STREAM_NAME = "Stream";
+    private static final String CHANNEL_NAME = "Kanal";
+
+    private interface Opener {
+        InputStream open() throws IOException;
+    }
+
+    private String name;
+    private File file;
+    private Opener opener;
+    private boolean resource;
+
+    private DataSource(String name, File file, Opener opener) {
+        this.name = name;
+        this.file = file;
+        this.opener = opener;
+    }
+
+    /**
+     * Erzeugt eine Quelle, die die übergebene Datei liest.
+     *
+     * @param file die zu lesende Datei
+     *
+     * @return die Quelle
+     */
+    public static DataSource of(File file) {
+        return new DataSource(file.getName(), file,
+            () -> Files.newInputStream(file.toPath()));
+    }
+
+    /**
+     * Erzeugt eine Quelle, die die Datei unter dem übergebenen Pfad liest.
+     * Der Pfad darf auch zu einem anderen Dateisystem als dem Standard
+     * gehören, zum Beispiel zu einem JAR-Archiv.
+     *
+     * @param path der Pfad der zu lesenden Datei
+     *
+     * @return die Quelle
+     */
+    public static DataSource of(Path path) {
+        var file = path.getFileSystem() == FileSystems.getDefault()
+            ? path.toFile()
+            : null;
+        var fileName = path.getFileName();
+        return new DataSource(
+            fileName == null ? path.toString() : fileName.toString(), file,
+            () -> Files.newInputStream(path));
+    }
+
+    /**
+     * Erzeugt eine Quelle mit dem Namen {@value #STREAM_NAME}, die den
+     * übergebenen Stream liest.
+     * Die Quelle kann nur ein einziges Mal gelesen werden und schließt den
+     * Stream, sobald der {@link CSVReader} mit dem Lesen fertig ist.
+     *
+     * @param input der zu lesende Stream
+     *
+     * @return die Quelle
+     *
+     * @see #of(InputStream, String)
+     */
+    public static DataSource of(InputStream input) {
+        return of(input, STREAM_NAME);
+    }
+
+    /**
+     * Erzeugt eine Quelle mit dem übergebenen Namen, die den übergebenen
+     * Stream liest.
+     * Der Name erscheint unter anderem in Fehlermeldungen und in der
+     * {@link LoadStatistics}.
+     * Die Quelle kann nur ein einziges Mal gelesen werden und schließt den
+     * Stream, sobald der {@link CSVReader} mit dem Lesen fertig ist.
+     *
+     * @param input der zu lesende Stream
+     * @param name  der Name der Quelle
+     *
+     * @return die Quelle
+     */
+    public static DataSource of(InputStream input, String name) {
+        return once(name, input);
+    }
+
+    /**
+     * Erzeugt eine Quelle mit dem Namen {@value #CHANNEL_NAME}, die den
+     * übergebenen Kanal liest.
+     * Die Quelle kann nur ein einziges Mal gelesen werden und schließt den
+     * Kanal, sobald der {@link CSVReader} mit dem Lesen fertig ist.
+     *
+     * @param channel der zu lesende Kanal
+     *
+     * @return die Quelle
+     *
+     * @see #of(ReadableByteChannel, String)
+     */
+    public static DataSource of(ReadableByteChannel channel) {
+        return of(channel, CHANNEL_NAME);
+    }
+
+    /**
+     * Erzeugt eine Quelle mit dem übergebenen Namen, die den übergebenen
+     * Kanal liest.
+     * Der Name erscheint unter anderem in Fehlermeldungen und in der
+     * {@link LoadStatistics}.
+     * Die Quelle kann nur ein einziges Mal gelesen werden und schließt den
+     * Kanal, sobald der {@link CSVReader} mit dem Lesen fertig ist.
+     *
+     * @param channel der zu lesende Kanal
+     * @param name    der Name der Quelle
+     *
+     * @return die Quelle
+     */
+    public static DataSource of(ReadableByteChannel channel, String name) {
+        return once(name, Channels.newInputStream(channel));
+    }
+
+    /**
+     * Erzeugt eine Quelle, die eine Ressource aus dem Klassenpfad liest.
+     * Die Ressource wird hierbei wie von
+     * {@link Class#getResourceAsStream(String)} relativ zur übergebenen
+     * Klasse gesucht und kann daher auch innerhalb eines JAR-Archivs liegen.
+     * Liegt die Ressource als gewöhnliche Datei vor, so verhält sich die
+     * Quelle wie eine mit {@link #of(File)} erzeugte.
+     *
+     * @param anchor die Klasse, relativ zu der die Ressource gesucht wird
+     * @param name   der Name der Ressource
+     *
+     * @return die Quelle
+     */
+    public static DataSource ofResource(Class<?> anchor, String name) {
+        File file = null;
+        var url = anchor.getResource(name);
+        if (url != null && "file".equals(url.getProtocol())) {
+            try {
+                file = new File(url.toURI());
+            } catch (URISyntaxException | IllegalArgumentException e) {
+                file = null;
+            }
+        }
+        var source = new DataSource(name, file, () -> {
+            var input = anchor.getResourceAsStream(name);
+            if (input == null) {
+                throw new FileNotFoundException(String.format(
+                    "Ressource %s nicht gefunden", name));
+            }
+            return input;
+        });
+        source.resource = true;
+        return source;
+    }
+
+    private static DataSource once(String name, InputStream input) {
+        var opened = new boolean[1];
+        return new DataSource(name, null, () -> {
+            synchronized (opened) {
+                if (opened[0]) {
+                    throw new IllegalStateException(String.format(
+                        "Die Quelle %s wurde bereits gelesen", name));
+                }
+                opened[0] = true;
+            }
+            return input;
+        });
+    }
+
+    /**
+     * Liefert den Namen dieser Quelle, zum Beispiel den Namen der Datei.
+     *
+     * @return den Namen dieser Quelle
+     */
+    public String getName() {
+        return name;
+    }
+
+    /**
+     * Öffnet diese Quelle zum Lesen.
+     * Der gelieferte Stream ist gepuffert und entpackt gzip-komprimierte
+     * Inhalte.
+     *
+     * @return einen Stream über den Inhalt dieser Quelle
+     *
+     * @throws IOException           falls beim Öffnen ein Fehler auftritt
+     * @throws IllegalStateException falls diese Quelle nur einmal gelesen
+     *                               werden kann und bereits gelesen wurde
+     */
+    public InputStream open() throws IOException {
+        return open(null);
+    }
+
+    InputStream open(LoadMetrics metrics) throws IOException {
+        var raw = opener.open();
+        if (metrics != null) {
+            raw = metrics.counting(raw);
+        }
+
+        var input = new BufferedInputStream(raw, BUFFER_SIZE);
+        try {
+            input.mark(2);
+            var magic = input.read() | input.read() << 8;
+            input.reset();
+            InputStream decoded = magic == GZIP_MAGIC
+                ? new GZIPInputStream(input, BUFFER_SIZE)
+                : input;
+            return metrics == null ? decoded : metrics.timing(decoded);
+        } catch (IOException e) {
+            input.close();
+            throw e;
+        }
+    }
+
+    File getFile() {
+        return file;
+    }
+
+    boolean isResource() {
+        return resource;
+    }
+
+    @Override
+    public String toString() {
+        return name;
+    }
+}
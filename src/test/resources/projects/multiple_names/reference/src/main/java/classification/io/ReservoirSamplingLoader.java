@@ -0,0 +1,139 @@
+package classification.io;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+
+import java.util.Random;
+import java.util.TreeMap;
+
+import classification.data.Dataset;
+import classification.data.Sample;
+
+/**
+ * Lädt eine gleichverteilte Zufallsstichprobe fester Größe aus einer
+ * CSV-Datei.
+ * Die Datei wird hierbei in einem einzigen Durchlauf gelesen, wobei sich nie
+ * mehr als {@code sampleSize} Zeilen gleichzeitig im Speicher befinden.
+ * Es werden ausschließlich die Zeilen, die in der Stichprobe landen, mit dem
+ * {@link SampleParser} des zugrunde liegenden {@link CSVDatasetLoader}s in
+ * Datenpunkte umgewandelt.
+ * <br>
+ * Die Stichprobe wird mit Hilfe des Reservoir-Sampling-Algorithmus L von
+ * <a href="https://doi.org/10.1145/198429.198435">Li</a> gezogen, der
+ * ganze Abschnitte der Datei überspringt, anstatt für jede Zeile eine
+ * Zufallszahl zu ziehen.
+ * Die Datenpunkte im resultierenden Datensatz behalten die Reihenfolge bei, in
+ * der sie in der Datei stehen.
+ * Enthält die Datei höchstens {@code sampleSize} Zeilen, so werden alle
+ * geladen.
+ *
+ * @author Kim Berninger
+ * @version 1.1.0
+ *
+ * @param <S> der Subtyp von {@link Sample}, dem die Elemente des erzeugten
+ *            Datensatzes entsprechen sollen
+ *
+ * @see BernoulliSamplingLoader
+ * @see StratifiedSamplingLoader
+ */
+public class ReservoirSamplingLoader<S extends Sample<?>>
+    implements DatasetLoader<S> {
+    private CSVDatasetLoader<S> source;
+    private int sampleSize;
+    private Random random;
+
+    /**
+     * Erzeugt einen {@code ReservoirSamplingLoader}, der eine Stichprobe mit
+     * {@code sampleSize} Datenpunkten aus der Datei des übergebenen
+     * {@link CSVDatasetLoader}s zieht.
+     *
+     * @param source     der Loader, dessen Datei und Parser verwendet werden
+     *                   sollen
+     * @param sampleSize die Größe der Stichprobe
+     *
+     * @throws IllegalArgumentException falls {@code sampleSize} negativ ist
+     */
+    public ReservoirSamplingLoader(CSVDatasetLoader<S> source, int sampleSize) {
+        this(source, sampleSize, new Random());
+    }
+
+    /**
+     * Erzeugt einen {@code ReservoirSamplingLoader}, der eine Stichprobe mit
+     * {@code sampleSize} Datenpunkten aus der Datei des übergebenen
+     * {@link CSVDatasetLoader}s zieht.
+     *
+     * @param source     der Loader, dessen Datei und Parser verwendet werden
+     *                   sollen
+     * @param sampleSize die Größe der Stichprobe
+     * @param random     der Zufallsgenerator, mit dem die Stichprobe gezogen
+     *                   werden soll
+     *
+     * @throws IllegalArgumentException falls {@code sampleSize} negativ ist
+     */
+    public ReservoirSamplingLoader(CSVDatasetLoader<S> source, int sampleSize,
+        Random random) {
+        if (sampleSize < 0) {
+            throw new IllegalArgumentException(
+                String.format("Ungültige Stichprobengröße: %d", sampleSize));
+        }
+        this.source = source;
+        this.sampleSize = sampleSize;
+        this.random = random;
+    }
+
+    @Override
+    public Dataset<S> loadDataset() {
+        try (var rows = source.rows()) {
+            Dataset<S> samples = CSVDatasetLoader.createDataset();
+
+            var reservoir = new TreeMap<Long, String[]>();
+            var slots = new long[sampleSize];
+
+            var iterator = rows.iterator();
+            var position = 0L;
+
+            while (position < sampleSize && iterator.hasNext()) {
+                reservoir.put(position, iterator.next());
+                slots[(int) position] = position;
+                position++;
+            }
+
+            if (sampleSize > 0) {
+                var w = Math.exp(Math.log(uniform()) / sampleSize);
+
+                while (iterator.hasNext()) {
+                    var skip = (long) (Math.log(uniform()) / Math.log1p(-w));
+
+                    for (var i = 0L; i < skip && iterator.hasNext(); i++) {
+                        iterator.next();
+                        position++;
+                    }
+
+                    if (!iterator.hasNext()) {
+                        break;
+                    }
+
+                    var slot = random.nextInt(sampleSize);
+                    reservoir.remove(slots[slot]);
+                    reservoir.put(position, iterator.next());
+                    slots[slot] = position;
+                    position++;
+
+                    w *= Math.exp(Math.log(uniform()) / sampleSize);
+                }
+            }
+
+            for (var row : reservoir.values()) {
+                samples.add(source.parse(row));
+            }
+
+            return samples;
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private double uniform() {
+        return 1 - random.nextDouble();
+    }
+}
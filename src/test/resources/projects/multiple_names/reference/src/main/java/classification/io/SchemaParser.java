@@ -0,0 +1,111 @@
+package classification.io;
+
+import java.util.function.Function;
+
+import classification.data.Sample;
+
+/**
+ * Ein Parser, der die Zeilen einer CSV-Datei anhand eines {@link RowSchema}s
+ * in typisierte Werte umwandelt und diese mit einer Funktion auf einen
+ * Datenpunkt abbildet.
+ * <blockquote>
+ *   <pre><code>
+ *var parser = new SchemaParser&lt;&gt;(
+ *    new RowSchema().doubleColumns(4).labelColumn(PlantClass.class),
+ *    row -&gt; new SupervisedSample&lt;&gt;(
+ *        new IrisPlant(row.getDouble(0), row.getDouble(1),
+ *            row.getDouble(2), row.getDouble(3)),
+ *        row.getLabel(0, PlantClass.class)));
+ *   </code></pre>
+ * </blockquote>
+ * Wird ein {@code SchemaParser} mit einem {@link CSVTokenizer} verwendet, so
+ * werden lediglich für Textspalten {@code String}s erzeugt.
+ * <br>
+ * Enthält eine Zeile eine ungültige Zahl oder ein unbekanntes Label, so wird
+ * eine Exception geworfen, bevor die Funktion aufgerufen wird.
+ * Die Funktion erhält daher nur vollständig gültige Zeilen.
+ * <br>
+ * Ein {@code SchemaParser} kann gleichzeitig von mehreren Threads verwendet
+ * werden, sofern die übergebene Funktion threadsicher ist.
+ *
+ * @author Kim Berninger
+ * @version 1.1.0
+ *
+ * @param <S> der Subtyp von {@link Sample}, dem die Datenpunkte, die dieser
+ *            {@code SchemaParser} liefert, entsprechen sollen
+ *
+ * @see RowSchema
+ * @see TypedRow
+ */
+public class SchemaParser<S extends Sample<?>>
+    implements SampleParser<S>, RangeSampleParser<S> {
+    private RowSchema schema;
+    private Function<? super TypedRow, ? extends S> mapper;
+    private ThreadLocal<TypedRow> rows;
+
+    /**
+     * Erzeugt einen {@code SchemaParser} mit dem übergebenen Schema und der
+     * übergebenen Abbildung.
+     *
+     * @param schema das Schema, nach dem die Zeilen gelesen werden sollen
+     * @param mapper die Funktion, die aus den typisierten Werten einer Zeile
+     *               den zugehörigen Datenpunkt erzeugt
+     */
+    public SchemaParser(RowSchema schema,
+        Function<? super TypedRow, ? extends S> mapper) {
+        this.schema = schema;
+        this.mapper = mapper;
+        this.rows = ThreadLocal.withInitial(schema::newRow);
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * @throws IllegalArgumentException falls eine {@code double}-Spalte keine
+     *                                  gültige Zahl oder eine Label-Spalte
+     *                                  einen unbekannten Wert enthält
+     */
+    @Override
+    public S parse(String[] values) {
+        return map(validate(read(values)));
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * @throws IllegalArgumentException falls eine {@code double}-Spalte keine
+     *                                  gültige Zahl oder eine Label-Spalte
+     *                                  einen unbekannten Wert enthält
+     */
+    @Override
+    public S parse(CSVTokenizer tokenizer) {
+        return map(validate(read(tokenizer)));
+    }
+
+    TypedRow read(String[] values) {
+        var row = rows.get();
+        schema.read(values, row);
+        return row;
+    }
+
+    TypedRow read(CSVTokenizer tokenizer) {
+        var row = rows.get();
+        schema.read(tokenizer, row);
+        return row;
+    }
+
+    RowSchema getSchema() {
+        return schema;
+    }
+
+    S map(TypedRow row) {
+        return mapper.apply(row);
+    }
+
+    private static TypedRow validate(TypedRow row) {
+        if (row.error != null) {
+            throw new IllegalArgumentException(row.error);
+        }
+        return row;
+    }
+}
@@ -0,0 +1,148 @@
+package classification.io;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.TreeMap;
+
+import classification.data.Dataset;
+import classification.data.Label;
+import classification.data.LabelDictionary;
+import classification.data.Sample;
+import classification.data.SupervisedSample;
+
+/**
+ * Lädt eine nach Labels geschichtete Zufallsstichprobe aus einer CSV-Datei.
+ * Für jedes Label wird ein eigenes Reservoir mit höchstens
+ * {@code samplesPerLabel} Datenpunkten geführt, sodass seltene Labels in der
+ * Stichprobe nicht von häufigen verdrängt werden.
+ * Die Datei wird hierbei in einem einzigen Durchlauf gelesen und der
+ * Speicherbedarf hängt nur von der Größe der Reservoirs ab.
+ * Da das Label einer Zeile erst nach dem Parsen bekannt ist, wird jede Zeile
+ * mit dem {@link SampleParser} des zugrunde liegenden {@link CSVDatasetLoader}s
+ * umgewandelt.
+ * <br>
+ * Die Datenpunkte im resultierenden Datensatz behalten die Reihenfolge bei, in
+ * der sie in der Datei stehen.
+ *
+ * @author Kim Berninger
+ * @version 1.1.0
+ *
+ * @param <T> der Typ der beschrifteten Datenpunkte
+ * @param <L> das Enum, dessen Konstanten als Labels verwendet werden, zum
+ *            Beispiel {@link classification.data.BinaryLabel}
+ *
+ * @see ReservoirSamplingLoader
+ * @see BernoulliSamplingLoader
+ */
+public class StratifiedSamplingLoader<T extends Sample<? super T>,
+    L extends Enum<L> & Label>
+    implements DatasetLoader<SupervisedSample<T, L>> {
+    private CSVDatasetLoader<SupervisedSample<T, L>> source;
+    private LabelDictionary<L> labels;
+    private int samplesPerLabel;
+    private Random random;
+
+    /**
+     * Erzeugt einen {@code StratifiedSamplingLoader}, der aus der Datei des
+     * übergebenen {@link CSVDatasetLoader}s für jedes Label eine Stichprobe
+     * mit {@code samplesPerLabel} Datenpunkten zieht.
+     *
+     * @param source          der Loader, dessen Datei und Parser verwendet
+     *                        werden sollen
+     * @param labelType       das Enum der Labels
+     * @param samplesPerLabel die Größe der Stichprobe pro Label
+     *
+     * @throws IllegalArgumentException falls {@code samplesPerLabel} negativ
+     *                                  ist
+     */
+    public StratifiedSamplingLoader(
+        CSVDatasetLoader<SupervisedSample<T, L>> source, Class<L> labelType,
+        int samplesPerLabel) {
+        this(source, labelType, samplesPerLabel, new Random());
+    }
+
+    /**
+     * Erzeugt einen {@code StratifiedSamplingLoader}, der aus der Datei des
+     * übergebenen {@link CSVDatasetLoader}s für jedes Label eine Stichprobe
+     * mit {@code samplesPerLabel} Datenpunkten zieht.
+     *
+     * @param source          der Loader, dessen Datei und Parser verwendet
+     *                        werden sollen
+     * @param labelType       das Enum der Labels
+     * @param samplesPerLabel die Größe der Stichprobe pro Label
+     * @param random          der Zufallsgenerator, mit dem die Stichprobe
+     *                        gezogen werden soll
+     *
+     * @throws IllegalArgumentException falls {@code samplesPerLabel} negativ
+     *                                  ist
+     */
+    public StratifiedSamplingLoader(
+        CSVDatasetLoader<SupervisedSample<T, L>> source, Class<L> labelType,
+        int samplesPerLabel, Random random) {
+        if (samplesPerLabel < 0) {
+            throw new IllegalArgumentException(String.format(
+                "Ungültige Stichprobengröße: %d", samplesPerLabel));
+        }
+        this.source = source;
+        this.labels = LabelDictionary.of(labelType);
+        this.samplesPerLabel = samplesPerLabel;
+        this.random = random;
+    }
+
+    @Override
+    public Dataset<SupervisedSample<T, L>> loadDataset() {
+        try (var rows = source.rows()) {
+            Dataset<SupervisedSample<T, L>> samples =
+                CSVDatasetLoader.createDataset();
+
+            List<List<SupervisedSample<T, L>>> reservoirs = new ArrayList<>();
+            for (var code = 0; code < labels.size(); code++) {
+                reservoirs.add(new ArrayList<>());
+            }
+
+            var positions = new long[labels.size()][samplesPerLabel];
+            var seen = new long[labels.size()];
+
+            var position = 0L;
+            for (var iterator = rows.iterator(); iterator.hasNext();
+                position++) {
+                var sample = source.parse(iterator.next());
+                var code = labels.encode(sample.getLabel());
+
+                var reservoir = reservoirs.get(code);
+                var count = seen[code]++;
+
+                if (count < samplesPerLabel) {
+                    reservoir.add(sample);
+                    positions[code][(int) count] = position;
+                } else {
+                    var slot = (long) (random.nextDouble() * (count + 1));
+                    if (slot < samplesPerLabel) {
+                        reservoir.set((int) slot, sample);
+                        positions[code][(int) slot] = position;
+                    }
+                }
+            }
+
+            var ordered = new TreeMap<Long, SupervisedSample<T, L>>();
+            for (var code = 0; code < labels.size(); code++) {
+                var reservoir = reservoirs.get(code);
+                for (var i = 0; i < reservoir.size(); i++) {
+                    ordered.put(positions[code][i], reservoir.get(i));
+                }
+            }
+
+            for (var sample : ordered.values()) {
+                samples.add(sample);
+            }
+
+            return samples;
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+}
@@ -0,0 +1,98 @@
+package classification.io;
+
+import classification.data.Label;
+import classification.data.LabelDictionary;
+
+/**
+ * Enthält die typisierten Werte einer Zeile, die anhand eines
+ * {@link RowSchema}s gelesen wurde.
+ * Die Werte werden je Typ gezählt: {@code getDouble(1)} liefert zum Beispiel
+ * den Wert der zweiten {@code double}-Spalte des Schemas, unabhängig davon,
+ * an welcher Stelle diese in der Datei steht.
+ * <br>
+ * Eine {@code TypedRow} wird für mehrere Zeilen wiederverwendet.
+ * Ihre Werte sind daher nur bis zum Lesen der nächsten Zeile gültig.
+ * Zeilen mit ungültigen Werten werden bereits beim Lesen abgelehnt, sodass
+ * eine {@code TypedRow} stets nur gültige Werte enthält.
+ *
+ * @author Kim Berninger
+ * @version 1.1.0
+ *
+ * @see RowSchema
+ * @see SchemaParser
+ */
+public final class TypedRow {
+    private RowSchema schema;
+
+    double[] doubles;
+    int[] labelCodes;
+    String[] texts;
+
+    String error;
+
+    TypedRow(RowSchema schema) {
+        this.schema = schema;
+        doubles = new double[schema.getDoubleCount()];
+        labelCodes = new int[schema.getLabelCount()];
+        texts = new String[schema.getTextCount()];
+    }
+
+    /**
+     * Liefert den Wert der {@code index}-ten {@code double}-Spalte.
+     *
+     * @param index der Index unter den {@code double}-Spalten des Schemas
+     *
+     * @return den Wert der Spalte
+     */
+    public double getDouble(int index) {
+        return doubles[index];
+    }
+
+    /**
+     * Liefert den Code des Labels in der {@code index}-ten Label-Spalte.
+     *
+     * @param index der Index unter den Label-Spalten des Schemas
+     *
+     * @return den Code des Labels
+     *
+     * @see LabelDictionary
+     */
+    public int getLabelCode(int index) {
+        return labelCodes[index];
+    }
+
+    /**
+     * Liefert das Label in der {@code index}-ten Label-Spalte.
+     *
+     * @param <L>       das Enum der Labels
+     * @param index     der Index unter den Label-Spalten des Schemas
+     * @param labelType das Enum, das für diese Spalte im Schema angegeben
+     *                  wurde
+     *
+     * @return das Label
+     *
+     * @throws IllegalArgumentException falls die Spalte im Schema mit einem
+     *                                  anderen Enum angelegt wurde
+     */
+    public <L extends Enum<L> & Label> L getLabel(int index,
+        Class<L> labelType) {
+        var dictionary = LabelDictionary.of(labelType);
+        if (schema.getDictionary(index) != dictionary) {
+            throw new IllegalArgumentException(String.format(
+                "Die Label-Spalte %d enthält keine Werte vom Typ %s",
+                index, labelType.getName()));
+        }
+        return dictionary.decode(labelCodes[index]);
+    }
+
+    /**
+     * Liefert den Inhalt der {@code index}-ten Textspalte.
+     *
+     * @param index der Index unter den Textspalten des Schemas
+     *
+     * @return den Inhalt der Spalte
+     */
+    public String getText(int index) {
+        return texts[index];
+    }
+}
@@ -0,0 +1,142 @@
+package classification.models;
+
+/**
+ * Das gemittelte Subgradientenverfahren (ASGD) nach Polyak und Ruppert, das
+ * die Gewichte wie das einfache Verfahren aktualisiert, zusätzlich aber den
+ * Mittelwert der Gewichte über alle Schritte seit Beginn der Mittelung führt.
+ * Für {@link LinearSVM#predict}, {@link LinearSVM#evaluate},
+ * {@link LinearSVM#getAveragedWeights()} und
+ * {@link LinearSVM#getAveragedBias()} wird dieser Mittelwert statt der
+ * aktuellen Gewichte verwendet.
+ * Da er die Schwankungen der einzelnen Schritte ausgleicht, ist die
+ * Genauigkeit auf großen Datensätzen meist schon nach ein oder zwei Epochen
+ * stabil.
+ * <br>
+ * Die Gewichte der SVM sind das Produkt eines Skalierungsfaktors {@code s}
+ * mit einem Vektor {@code v}.
+ * Die Summe der Gewichte wird nach Xu ebenso als {@code U + B v} mit einem
+ * Vektor {@code U} und einem Skalar {@code B} dargestellt.
+ * Nach jedem Schritt wächst {@code B} um das neue {@code s}, und ändert sich
+ * {@code vⱼ} um {@code Δ}, so wird {@code Uⱼ} um {@code B Δ} verkleinert.
+ * Ein Schritt kostet so weiterhin nur {@code O(nnz)}, ohne dass für jede
+ * Komponente Zustand außer {@code Uⱼ} nötig ist.
+ * Nur wenn die SVM den Skalierungsfaktor in {@code v} einrechnet, wird
+ * {@code B v} in {@code U} übernommen.
+ * <br>
+ * Die ersten Schritte eines Trainings liegen meist weit vom Optimum entfernt.
+ * Daher kann die Mittelung erst ab einem bestimmten Schritt beginnen,
+ * typischerweise nach der ersten Epoche.
+ * Der Mittelwert wird von {@link LinearSVM#partialFit}, dem
+ * {@link SGDTrainer} und dem {@link MiniBatchTrainer} fortgeschrieben.
+ * Die übrigen Trainingsverfahren lassen sich nicht mit diesem Optimierer
+ * kombinieren, da sie die Gewichte an ihm vorbei verändern würden.
+ *
+ * @author Kim Berninger
+ * @version 1.1.0
+ */
+public final class AveragedSGD extends Optimizer {
+    private final long start;
+
+    private double[] sums;
+    private double multiplier;
+    private double biasSum;
+    private long count;
+    private boolean averaging;
+    private double eta;
+
+    /**
+     * Erzeugt ein gemitteltes Verfahren, das ab dem ersten Schritt mittelt.
+     */
+    public AveragedSGD() {
+        this(0);
+    }
+
+    /**
+     * Erzeugt ein gemitteltes Verfahren, das erst ab dem angegebenen Stand
+     * des Schrittzählers der SVM mittelt.
+     * Bis dahin werden für Vorhersagen die aktuellen Gewichte verwendet.
+     *
+     * @param start der Schritt, ab dem gemittelt wird
+     *
+     * @throws IllegalArgumentException falls der Schritt negativ ist
+     */
+    public AveragedSGD(long start) {
+        if (start < 0) {
+            throw new IllegalArgumentException(
+                String.format("Ungültiger Schritt: %d", start));
+        }
+        this.start = start;
+    }
+
+    @Override
+    void prepare(int dimension, long step, double eta) {
+        if (sums == null || sums.length != dimension) {
+            sums = new double[dimension];
+            multiplier = 0;
+            biasSum = 0;
+            count = 0;
+        }
+        averaging = step >= start;
+        this.eta = eta;
+    }
+
+    @Override
+    double delta(int index, double direction) {
+        return eta * direction;
+    }
+
+    @Override
+    void changed(int index, double change) {
+        sums[index] -= multiplier * change;
+    }
+
+    @Override
+    void rescaling(LinearSVM<?> svm) {
+        if (multiplier != 0) {
+            for (var j = 0; j < sums.length; j++) {
+                sums[j] += multiplier * svm.weights[j];
+            }
+            multiplier = 0;
+        }
+    }
+
+    @Override
+    void completed(LinearSVM<?> svm) {
+        if (averaging) {
+            multiplier += svm.scale;
+            biasSum += svm.bias;
+            count++;
+        }
+    }
+
+    @Override
+    double decision(LinearSVM<?> svm, Features features) {
+        if (count == 0) {
+            return svm.decision(features);
+        }
+        var result = biasSum;
+        for (var k = 0; k < features.size(); k++) {
+            var j = features.index(k);
+            result += (sums[j] + multiplier * svm.weights[j])
+                * features.value(k);
+        }
+        return result / count;
+    }
+
+    @Override
+    double[] weights(LinearSVM<?> svm) {
+        if (count == 0) {
+            return super.weights(svm);
+        }
+        var result = new double[sums.length];
+        for (var j = 0; j < result.length; j++) {
+            result[j] = (sums[j] + multiplier * svm.weights[j]) / count;
+        }
+        return result;
+    }
+
+    @Override
+    double bias(LinearSVM<?> svm) {
+        return count == 0 ? svm.bias : biasSum / count;
+    }
+}
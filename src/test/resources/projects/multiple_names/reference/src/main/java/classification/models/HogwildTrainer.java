@@ -0,0 +1,162 @@
+package classification.models;
+
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+import java.util.Random;
+import java.util.concurrent.ForkJoinTask;
+import java.util.concurrent.RecursiveAction;
+
+/**
+ * Ein asynchrones paralleles Subgradientenverfahren nach dem Vorbild von
+ * Hogwild!, das sich für dünnbesetzte Datenpunkte eignet.
+ * <br>
+ * Mehrere Teilaufgaben im gemeinsamen
+ * {@link java.util.concurrent.ForkJoinPool} verarbeiten die Datenpunkte einer
+ * Epoche gleichzeitig und schreiben ohne Sperren in dasselbe Array von
+ * Gewichten.
+ * Da ein Trainingsschritt nur die von Null verschiedenen Komponenten seines
+ * Datenpunktes verändert, überschneiden sich die Schritte verschiedener
+ * Threads bei dünnbesetzten Daten selten, und gelegentlich verlorene
+ * Aktualisierungen beeinträchtigen die Konvergenz kaum.
+ * <br>
+ * Der Datenpunkt an Position {@code k} der zufälligen Reihenfolge wird von
+ * der Teilaufgabe {@code k mod parallelism} mit der Lernrate des Schrittes
+ * {@code t + k} verarbeitet, sodass die Lernrate wie beim {@link SGDTrainer}
+ * abfällt.
+ * Da sich ein gemeinsamer Skalierungsfaktor nicht ohne Sperren verändern
+ * lässt, wird die Regularisierung nur auf die Komponenten des jeweiligen
+ * Datenpunktes angewendet und hierfür durch den Anteil der Datenpunkte
+ * geteilt, in denen die Komponente vorkommt.
+ * Im Mittel über eine Epoche entspricht dies der Regularisierung des
+ * {@link SGDTrainer}s.
+ * <br>
+ * Im atomaren Modus wird jede Komponente mit einer
+ * Compare-and-Set-Schleife aktualisiert, sodass keine Aktualisierung verloren
+ * geht.
+ * Dies ist langsamer, eignet sich aber, um die Ergebnisse mit denen des
+ * sperrfreien Modus zu vergleichen.
+ * Mit nur einer Teilaufgabe ist das Training in beiden Modi deterministisch.
+ *
+ * @author Kim Berninger
+ * @version 1.1.0
+ */
+public final class HogwildTrainer extends Trainer {
+    private static final VarHandle COMPONENT =
+        MethodHandles.arrayElementVarHandle(double[].class);
+
+    private final int parallelism;
+    private final boolean atomic;
+
+    /**
+     * Erzeugt ein sperrfreies Verfahren mit so vielen Teilaufgaben, wie
+     * Prozessoren zur Verfügung stehen.
+     */
+    public HogwildTrainer() {
+        this(Runtime.getRuntime().availableProcessors(), false);
+    }
+
+    /**
+     * Erzeugt ein Verfahren mit der angegebenen Anzahl an Teilaufgaben.
+     *
+     * @param parallelism die Anzahl der Teilaufgaben, die gleichzeitig
+     *                    Datenpunkte verarbeiten
+     * @param atomic      ob die Gewichte mit atomaren Operationen statt mit
+     *                    einfachen Schreibzugriffen aktualisiert werden sollen
+     *
+     * @throws IllegalArgumentException falls {@code parallelism} nicht positiv
+     *                                  ist
+     */
+    public HogwildTrainer(int parallelism, boolean atomic) {
+        if (parallelism < 1) {
+            throw new IllegalArgumentException(String.format(
+                "Ungültige Anzahl an Teilaufgaben: %d", parallelism));
+        }
+        this.parallelism = parallelism;
+        this.atomic = atomic;
+    }
+
+    @Override
+    double epoch(LinearSVM<?> svm, TrainingSet data, Random random) {
+        var order = data.permutation(random);
+        svm.fold();
+
+        var frequencies = data.frequencies(svm.getDimension());
+        var bias = new double[] {svm.bias};
+        var workers = new Worker[Math.min(parallelism, order.length)];
+        for (var w = 0; w < workers.length; w++) {
+            workers[w] = new Worker(svm, data, frequencies, order, bias, w);
+        }
+        ForkJoinTask.invokeAll(workers);
+
+        svm.bias = bias[0];
+        svm.step += order.length;
+
+        var loss = 0.0;
+        for (var worker : workers) {
+            loss += worker.loss;
+        }
+        return loss / Math.max(1, order.length);
+    }
+
+    private final class Worker extends RecursiveAction {
+        private static final long serialVersionUID = 2417388146913087554L;
+
+        private final transient LinearSVM<?> svm;
+        private final transient TrainingSet data;
+        private final double[] frequencies;
+        private final int[] order;
+        private final double[] bias;
+        private final int offset;
+
+        private double loss;
+
+        private Worker(LinearSVM<?> svm, TrainingSet data,
+            double[] frequencies, int[] order, double[] bias, int offset) {
+            this.svm = svm;
+            this.data = data;
+            this.frequencies = frequencies;
+            this.order = order;
+            this.bias = bias;
+            this.offset = offset;
+        }
+
+        @Override
+        protected void compute() {
+            var weights = svm.weights;
+            var lambda = svm.getLambda();
+
+            for (var k = offset; k < order.length; k += parallelism) {
+                var i = order[k];
+                var features = data.features[i];
+                var label = data.labels[i];
+
+                var eta = svm.learningRate(svm.step + k);
+                var margin = label * (features.dot(weights) + bias[0]);
+                var coefficient = margin < 1 ? eta * label : 0;
+
+                for (var m = 0; m < features.size(); m++) {
+                    var j = features.index(m);
+                    var decay = Math.max(0, 1 - eta * lambda / frequencies[j]);
+                    update(weights, j, decay, coefficient * features.value(m));
+                }
+                if (margin < 1) {
+                    update(bias, 0, 1, coefficient);
+                    loss += 1 - margin;
+                }
+            }
+        }
+
+        private void update(double[] array, int index, double decay,
+            double delta) {
+            if (atomic) {
+                double current;
+                do {
+                    current = (double) COMPONENT.getVolatile(array, index);
+                } while (!COMPONENT.compareAndSet(
+                    array, index, current, decay * current + delta));
+            } else {
+                array[index] = decay * array[index] + delta;
+            }
+        }
+    }
+}
@@ -0,0 +1,459 @@
+package classification.models;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Objects;
+import java.util.Random;
+
+import classification.data.BinaryLabel;
+import classification.data.Dataset;
+import classification.data.Sample;
+import classification.data.SupervisedSample;
+import classification.linalg.Vector;
+
+/**
+ * Eine lineare Support Vector Machine, die mit dem stochastischen
+ * Subgradientenverfahren auf dem L2-regularisierten Hinge-Verlust
+ * <blockquote>
+ *   {@code λ/2 ‖w‖² + max(0, 1 - y (w·x + b))}
+ * </blockquote>
+ * trainiert wird.
+ * <br>
+ * Der Zustand des Verfahrens, also neben den Gewichten und dem Bias auch der
+ * Schrittzähler {@code t}, bleibt zwischen den Aufrufen von
+ * {@link #partialFit(SupervisedSample)} und {@link #fit(Iterable, int)}
+ * erhalten.
+ * Die Lernrate des {@code t}-ten Schrittes beträgt
+ * <blockquote>
+ *   {@code η₀ / (1 + η₀ λ t)},
+ * </blockquote>
+ * ein Modell kann also jederzeit mit weiteren Datenpunkten fortgeschrieben
+ * werden, ohne dass die Lernrate wieder bei {@code η₀} beginnt.
+ * <br>
+ * Die Gewichte werden intern als Produkt eines Skalars mit einem Vektor
+ * gespeichert, sodass die Regularisierung in jedem Schritt nur den Skalar
+ * verändert.
+ * Ein Trainingsschritt mit einem {@link classification.data.SparseSample}
+ * kostet daher nur {@code O(nnz)}.
+ *
+ * @author Kim Berninger
+ * @version 1.1.0
+ *
+ * @param <S> der Subtyp von {@link Sample}, dem die Elemente, mit denen dieser
+ *            Klassifizierer trainiert werden soll, entsprechen sollen
+ */
+public class LinearSVM<S extends Sample<? super S>>
+    implements OnlineClassifier<S> {
+    private static final double MIN_SCALE = 1e-9;
+
+    private final int dimension;
+    private final double lambda;
+
+    private double learningRate = 0.1;
+    private Random random = new Random();
+
+    private Trainer trainer = new SGDTrainer();
+    private EarlyStopping stopping;
+    private Optimizer optimizer = new PlainSGD();
+
+    final double[] weights;
+    double scale = 1;
+    double bias;
+    long step;
+
+    /**
+     * Erzeugt eine neue lineare SVM, deren Gewichte und Bias mit {@code 0}
+     * initialisiert sind.
+     *
+     * @param dimension die Dimension der Feature-Vektoren
+     * @param lambda    der Regularisierungsparameter {@code λ}
+     *
+     * @throws IllegalArgumentException falls die Dimension nicht positiv oder
+     *                                  {@code λ} negativ ist
+     */
+    public LinearSVM(int dimension, double lambda) {
+        if (dimension < 1) {
+            throw new IllegalArgumentException(
+                String.format("Ungültige Dimension: %d", dimension));
+        }
+        if (!(lambda >= 0)) {
+            throw new IllegalArgumentException(
+                String.format("Ungültiger Regularisierungsparameter: %s",
+                    lambda));
+        }
+        this.dimension = dimension;
+        this.lambda = lambda;
+        weights = new double[dimension];
+    }
+
+    /**
+     * Legt die anfängliche Lernrate {@code η₀} fest.
+     * Standardmäßig beträgt sie {@code 0.1}.
+     *
+     * @param learningRate die anfängliche Lernrate
+     *
+     * @return diese SVM
+     *
+     * @throws IllegalArgumentException falls die Lernrate nicht positiv ist
+     */
+    public LinearSVM<S> withLearningRate(double learningRate) {
+        if (!(learningRate > 0)) {
+            throw new IllegalArgumentException(String.format(
+                "Ungültige Lernrate: %s", learningRate));
+        }
+        this.learningRate = learningRate;
+        return this;
+    }
+
+    /**
+     * Legt das Verfahren fest, mit dem {@link #fit(Iterable, int)} die Epochen
+     * ausführt.
+     * Standardmäßig wird ein {@link SGDTrainer} verwendet.
+     * {@link #partialFit(SupervisedSample)} führt unabhängig hiervon stets
+     * einen einzelnen Schritt des stochastischen Subgradientenverfahrens
+     * aus.
+     *
+     * Nur der {@link SGDTrainer} und der {@link MiniBatchTrainer} können mit
+     * einem anderen als dem Standardoptimierer kombiniert werden.
+     *
+     * @param trainer das Trainingsverfahren
+     *
+     * @return diese SVM
+     *
+     * @throws IllegalArgumentException falls das Verfahren keinen Optimierer
+     *                                  verwendet, aber mit
+     *                                  {@link #withOptimizer(Optimizer)} ein
+     *                                  Optimierer festgelegt wurde
+     */
+    public LinearSVM<S> withTrainer(Trainer trainer) {
+        checkCompatibility(Objects.requireNonNull(trainer), optimizer);
+        this.trainer = trainer;
+        return this;
+    }
+
+    /**
+     * Legt die Regel fest, nach der ein Schritt des Subgradientenverfahrens
+     * die Gewichte verändert.
+     * Sie wird von {@link #partialFit(SupervisedSample)}, dem
+     * {@link SGDTrainer} und dem {@link MiniBatchTrainer} verwendet, die
+     * übrigen Trainingsverfahren folgen ihren eigenen Regeln und verändern
+     * die Gewichte am Optimierer vorbei.
+     * Ein Optimierer kann daher nur festgelegt werden, solange eines der
+     * beiden Verfahren ausgewählt ist.
+     * Standardmäßig wird jede Komponente mit der aktuellen Lernrate
+     * verschoben.
+     *
+     * @param optimizer der Optimierer oder {@code null} für die
+     *                  Standardregel
+     *
+     * @return diese SVM
+     *
+     * @throws IllegalArgumentException falls ein Optimierer übergeben wird,
+     *                                  das mit {@link #withTrainer(Trainer)}
+     *                                  festgelegte Verfahren aber keinen
+     *                                  verwendet
+     */
+    public LinearSVM<S> withOptimizer(Optimizer optimizer) {
+        var rule = optimizer == null ? new PlainSGD() : optimizer;
+        checkCompatibility(trainer, rule);
+        this.optimizer = rule;
+        return this;
+    }
+
+    private static void checkCompatibility(Trainer trainer,
+        Optimizer optimizer) {
+        if (!trainer.usesOptimizer() && !(optimizer instanceof PlainSGD)) {
+            throw new IllegalArgumentException(String.format(
+                "Das Verfahren %s lässt sich nicht mit %s kombinieren",
+                trainer.getClass().getSimpleName(),
+                optimizer.getClass().getSimpleName()));
+        }
+    }
+
+    /**
+     * Legt fest, unter welchen Bedingungen {@link #fit(Iterable, int)} das
+     * Training vor Ablauf der übergebenen Anzahl an Epochen beendet.
+     * Standardmäßig werden stets alle Epochen ausgeführt, es sei denn, das
+     * Trainingsverfahren meldet, dass es konvergiert ist.
+     *
+     * @param stopping die Abbruchkriterien oder {@code null}, um stets alle
+     *                 Epochen auszuführen
+     *
+     * @return diese SVM
+     */
+    public LinearSVM<S> withEarlyStopping(EarlyStopping stopping) {
+        this.stopping = stopping;
+        return this;
+    }
+
+    /**
+     * Legt den Startwert des Zufallszahlengenerators fest, mit dem die
+     * Reihenfolge der Datenpunkte in jeder Epoche von
+     * {@link #fit(Iterable, int)} bestimmt wird.
+     * Damit lässt sich ein Training exakt wiederholen.
+     *
+     * @param seed der Startwert
+     *
+     * @return diese SVM
+     */
+    public LinearSVM<S> withSeed(long seed) {
+        random = new Random(seed);
+        return this;
+    }
+
+    /**
+     * Liefert die Dimension der Feature-Vektoren.
+     *
+     * @return die Dimension
+     */
+    public int getDimension() {
+        return dimension;
+    }
+
+    /**
+     * Liefert den Regularisierungsparameter {@code λ}.
+     *
+     * @return den Regularisierungsparameter
+     */
+    public double getLambda() {
+        return lambda;
+    }
+
+    /**
+     * Liefert die aktuellen Gewichte.
+     *
+     * @return die Gewichte als neuen Vektor
+     */
+    public Vector getWeights() {
+        var result = new double[dimension];
+        for (var i = 0; i < dimension; i++) {
+            result[i] = scale * weights[i];
+        }
+        return new Vector(result);
+    }
+
+    /**
+     * Liefert den aktuellen Bias.
+     *
+     * @return den Bias
+     */
+    public double getBias() {
+        return bias;
+    }
+
+    /**
+     * Liefert die Gewichte, mit denen {@link #predict(Sample)} und
+     * {@link #evaluate(Iterable)} rechnen.
+     * Mit einem {@link AveragedSGD} ist dies der Mittelwert der Gewichte,
+     * andernfalls sind es die aktuellen Gewichte.
+     *
+     * @return die gemittelten Gewichte als neuen Vektor
+     */
+    public Vector getAveragedWeights() {
+        return new Vector(optimizer.weights(this));
+    }
+
+    /**
+     * Liefert den Bias, mit dem {@link #predict(Sample)} und
+     * {@link #evaluate(Iterable)} rechnen.
+     * Mit einem {@link AveragedSGD} ist dies der Mittelwert des Bias,
+     * andernfalls ist es der aktuelle Bias.
+     *
+     * @return den gemittelten Bias
+     */
+    public double getAveragedBias() {
+        return optimizer.bias(this);
+    }
+
+    /**
+     * Liefert die Anzahl der bisher ausgeführten Trainingsschritte.
+     *
+     * @return den Schrittzähler
+     */
+    public long getStep() {
+        return step;
+    }
+
+    /**
+     * Liefert die Lernrate, mit der der nächste Trainingsschritt ausgeführt
+     * wird.
+     *
+     * @return die aktuelle Lernrate
+     */
+    public double getLearningRate() {
+        return learningRate(step);
+    }
+
+    @Override
+    public double partialFit(
+        SupervisedSample<? extends S, BinaryLabel> sample) {
+        return step(TrainingSet.of(sample, dimension),
+            TrainingSet.label(sample.getLabel()));
+    }
+
+    /**
+     * Trainiert diese SVM für die übergebene Anzahl an Epochen auf dem
+     * Datensatz.
+     * In jeder Epoche werden die Datenpunkte in zufälliger Reihenfolge dem
+     * mit {@link #withTrainer(Trainer)} festgelegten Verfahren übergeben.
+     * Das Training beginnt beim aktuellen Zustand dieser SVM und kann mit
+     * {@link #withEarlyStopping(EarlyStopping)} vorzeitig beendet werden.
+     *
+     * @param data   die beschrifteten Datenpunkte, zum Beispiel ein
+     *               {@link Dataset}
+     * @param epochs die größte Anzahl an Epochen
+     *
+     * @return für jede ausgeführte Epoche den mittleren Hinge-Verlust der
+     *         Datenpunkte vor ihrem Trainingsschritt zuzüglich der
+     *         Regularisierung am Ende der Epoche
+     */
+    public List<Double> fit(
+        Iterable<? extends SupervisedSample<? extends S, BinaryLabel>> data,
+        int epochs) {
+        var trainingSet = TrainingSet.of(data, dimension);
+        var monitor = stopping == null ? null : stopping.start(dimension);
+        var losses = new ArrayList<Double>();
+        if (monitor != null) {
+            epochs = Math.min(epochs, monitor.getMaxEpochs());
+        }
+        for (var epoch = 0; epoch < epochs; epoch++) {
+            var loss = trainer.epoch(this, trainingSet, random)
+                + regularization();
+            losses.add(loss);
+            if (trainer.converged()
+                || monitor != null && monitor.stop(this, loss)) {
+                break;
+            }
+        }
+        return losses;
+    }
+
+    /**
+     * Berechnet den Anteil der Datenpunkte, deren Label korrekt vorhergesagt
+     * wird.
+     *
+     * @param data die beschrifteten Datenpunkte, zum Beispiel ein
+     *             {@link Dataset}
+     *
+     * @return die Genauigkeit zwischen {@code 0} und {@code 1}
+     */
+    public double evaluate(
+        Iterable<? extends SupervisedSample<? extends S, BinaryLabel>> data) {
+        var correct = 0;
+        var count = 0;
+        for (var sample : data) {
+            if (label(Features.of(sample)) == sample.getLabel()) {
+                correct++;
+            }
+            count++;
+        }
+        return count == 0 ? 0 : (double) correct / count;
+    }
+
+    /**
+     * Sagt die Labels aller übergebenen Datenpunkte voraus.
+     *
+     * @param data die Datenpunkte, zum Beispiel ein {@link Dataset}
+     *
+     * @return die vorhergesagten Labels in der Reihenfolge der Datenpunkte
+     */
+    public List<BinaryLabel> predict(Iterable<? extends S> data) {
+        var result = new ArrayList<BinaryLabel>();
+        for (var sample : data) {
+            result.add(predict(sample));
+        }
+        return result;
+    }
+
+    @Override
+    public BinaryLabel predict(S sample) {
+        return label(Features.of(sample));
+    }
+
+    private BinaryLabel label(Features features) {
+        return prediction(features) >= 0
+            ? BinaryLabel.POSITIVE
+            : BinaryLabel.NEGATIVE;
+    }
+
+    double decision(Features features) {
+        return scale * features.dot(weights) + bias;
+    }
+
+    double prediction(Features features) {
+        return optimizer.decision(this, features);
+    }
+
+    Optimizer optimizer() {
+        return optimizer;
+    }
+
+    double hingeLoss(TrainingSet data) {
+        var loss = 0.0;
+        for (var i = 0; i < data.size(); i++) {
+            var margin = data.labels[i] * prediction(data.features[i]);
+            loss += Math.max(0, 1 - margin);
+        }
+        return loss / Math.max(1, data.size());
+    }
+
+    double regularization() {
+        return lambda / 2 * squaredNorm();
+    }
+
+    double squaredNorm() {
+        var norm = 0.0;
+        for (var weight : weights) {
+            norm += weight * weight;
+        }
+        return scale * scale * norm;
+    }
+
+    double learningRate(long step) {
+        return learningRate / (1 + learningRate * lambda * step);
+    }
+
+    double step(Features features, double label) {
+        var eta = getLearningRate();
+        var margin = label * decision(features);
+
+        optimizer.prepare(dimension, step, eta);
+        shrink(eta);
+        if (margin < 1) {
+            optimizer.update(this, features, label);
+        }
+        normalize();
+
+        step++;
+        optimizer.completed(this);
+        return Math.max(0, 1 - margin);
+    }
+
+    void shrink(double eta) {
+        var decay = 1 - eta * lambda;
+        if (decay > MIN_SCALE) {
+            scale *= decay;
+        } else {
+            optimizer.rescaling(this);
+            Arrays.fill(weights, 0);
+            scale = 1;
+        }
+    }
+
+    void normalize() {
+        if (scale < MIN_SCALE) {
+            fold();
+        }
+    }
+
+    void fold() {
+        if (scale != 1) {
+            optimizer.rescaling(this);
+            for (var i = 0; i < dimension; i++) {
+                weights[i] *= scale;
+            }
+            scale = 1;
+        }
+    }
+}
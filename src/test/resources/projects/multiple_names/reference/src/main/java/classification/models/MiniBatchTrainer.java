@@ -0,0 +1,206 @@
+package classification.models;
+
+import java.util.Arrays;
+import java.util.Random;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+
+/**
+ * Das Subgradientenverfahren mit Mini-Batches, bei dem der Subgradient eines
+ * Stapels parallel im gemeinsamen {@link ForkJoinPool} berechnet wird.
+ * <br>
+ * In jeder Epoche werden die Datenpunkte in zufälliger Reihenfolge in Stapel
+ * der festgelegten Größe eingeteilt.
+ * Jeder Stapel wird in Abschnitte von höchstens {@code grain} Datenpunkten
+ * zerlegt, deren Hinge-Subgradienten jeweils in einen eigenen Akkumulator
+ * summiert werden.
+ * Anschließend werden die Akkumulatoren paarweise entlang eines festen
+ * Baumes zusammengefasst und die Gewichte einmal mit dem mittleren
+ * Subgradienten des Stapels aktualisiert.
+ * Da die Einteilung in Abschnitte und die Reihenfolge der Zusammenfassung
+ * nur von der Stapelgröße und {@code grain} abhängen, ist das Ergebnis
+ * unabhängig von der Anzahl der Threads und ihrer zeitlichen Abfolge.
+ * <br>
+ * Jede Aktualisierung erhöht den Schrittzähler der SVM um eins.
+ * Eine Epoche führt daher nur etwa {@code n / batchSize} Schritte aus, deren
+ * Lernrate entsprechend langsamer abfällt als beim {@link SGDTrainer}.
+ *
+ * @author Kim Berninger
+ * @version 1.1.0
+ */
+public final class MiniBatchTrainer extends Trainer {
+    private static final int DEFAULT_GRAIN = 256;
+
+    private final int batchSize;
+    private final int grain;
+
+    /**
+     * Erzeugt ein Mini-Batch-Verfahren mit der übergebenen Stapelgröße, das
+     * Abschnitte von höchstens {@value #DEFAULT_GRAIN} Datenpunkten parallel
+     * verarbeitet.
+     *
+     * @param batchSize die Anzahl der Datenpunkte je Stapel
+     *
+     * @throws IllegalArgumentException falls die Stapelgröße nicht positiv
+     *                                  ist
+     */
+    public MiniBatchTrainer(int batchSize) {
+        this(batchSize, DEFAULT_GRAIN);
+    }
+
+    /**
+     * Erzeugt ein Mini-Batch-Verfahren mit der übergebenen Stapelgröße, das
+     * Abschnitte von höchstens {@code grain} Datenpunkten parallel
+     * verarbeitet.
+     *
+     * @param batchSize die Anzahl der Datenpunkte je Stapel
+     * @param grain     die größte Anzahl an Datenpunkten, die von einer
+     *                  Teilaufgabe verarbeitet wird
+     *
+     * @throws IllegalArgumentException falls einer der Parameter nicht
+     *                                  positiv ist
+     */
+    public MiniBatchTrainer(int batchSize, int grain) {
+        if (batchSize < 1) {
+            throw new IllegalArgumentException(
+                String.format("Ungültige Stapelgröße: %d", batchSize));
+        }
+        if (grain < 1) {
+            throw new IllegalArgumentException(
+                String.format("Ungültige Abschnittsgröße: %d", grain));
+        }
+        this.batchSize = batchSize;
+        this.grain = grain;
+    }
+
+    @Override
+    double epoch(LinearSVM<?> svm, TrainingSet data, Random random) {
+        var order = data.permutation(random);
+        var chunks = (Math.min(batchSize, order.length) + grain - 1) / grain;
+        var batch = new Batch(svm, data, order, chunks);
+
+        var loss = 0.0;
+        for (var from = 0; from < order.length; from += batchSize) {
+            var to = Math.min(from + batchSize, order.length);
+            var count = (to - from + grain - 1) / grain;
+
+            batch.from = from;
+            batch.to = to;
+            if (count == 1) {
+                batch.accumulate(0);
+            } else {
+                ForkJoinPool.commonPool().invoke(
+                    new Reduction(batch, 0, count));
+            }
+
+            loss += batch.losses[0];
+            update(svm, batch.gradients[0], batch.biases[0], to - from);
+        }
+        return loss / Math.max(1, order.length);
+    }
+
+    @Override
+    boolean usesOptimizer() {
+        return true;
+    }
+
+    private static void update(LinearSVM<?> svm, double[] gradient,
+        double bias, int count) {
+        var eta = svm.getLearningRate();
+        var optimizer = svm.optimizer();
+        optimizer.prepare(svm.getDimension(), svm.step, eta);
+        svm.shrink(eta);
+
+        for (var i = 0; i < gradient.length; i++) {
+            gradient[i] /= count;
+        }
+        optimizer.update(svm, gradient, bias / count);
+        svm.normalize();
+
+        svm.step++;
+        optimizer.completed(svm);
+    }
+
+    private final class Batch {
+        private final LinearSVM<?> svm;
+        private final TrainingSet data;
+        private final int[] order;
+
+        private final double[][] gradients;
+        private final double[] biases;
+        private final double[] losses;
+
+        private int from;
+        private int to;
+
+        private Batch(LinearSVM<?> svm, TrainingSet data, int[] order,
+            int chunks) {
+            this.svm = svm;
+            this.data = data;
+            this.order = order;
+            gradients = new double[chunks][svm.getDimension()];
+            biases = new double[chunks];
+            losses = new double[chunks];
+        }
+
+        private void accumulate(int chunk) {
+            var gradient = gradients[chunk];
+            Arrays.fill(gradient, 0);
+            var bias = 0.0;
+            var loss = 0.0;
+
+            var start = from + chunk * grain;
+            var end = Math.min(start + grain, to);
+            for (var k = start; k < end; k++) {
+                var i = order[k];
+                var features = data.features[i];
+                var label = data.labels[i];
+                var margin = label * svm.decision(features);
+                if (margin < 1) {
+                    features.addTo(gradient, label);
+                    bias += label;
+                    loss += 1 - margin;
+                }
+            }
+
+            biases[chunk] = bias;
+            losses[chunk] = loss;
+        }
+
+        private void merge(int chunk, int other) {
+            var gradient = gradients[chunk];
+            var source = gradients[other];
+            for (var i = 0; i < gradient.length; i++) {
+                gradient[i] += source[i];
+            }
+            biases[chunk] += biases[other];
+            losses[chunk] += losses[other];
+        }
+    }
+
+    private static final class Reduction extends RecursiveAction {
+        private static final long serialVersionUID = -3870402214395126931L;
+
+        private final transient Batch batch;
+        private final int from;
+        private final int to;
+
+        private Reduction(Batch batch, int from, int to) {
+            this.batch = batch;
+            this.from = from;
+            this.to = to;
+        }
+
+        @Override
+        protected void compute() {
+            if (to - from == 1) {
+                batch.accumulate(from);
+                return;
+            }
+            var mid = (from + to) >>> 1;
+            invokeAll(new Reduction(batch, from, mid),
+                new Reduction(batch, mid, to));
+            batch.merge(from, mid);
+        }
+    }
+}
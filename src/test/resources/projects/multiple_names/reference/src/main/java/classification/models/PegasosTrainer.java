@@ -0,0 +1,121 @@
+package classification.models;
+
+import java.util.Random;
+
+/**
+ * Das Pegasos-Verfahren (Primal Estimated sub-GrAdient SOlver for SVM) von
+ * Shalev-Shwartz, Singer und Srebro.
+ * <br>
+ * In jedem Schritt {@code t} wird ein Stapel von {@code k} Datenpunkten
+ * zufällig und mit Zurücklegen aus dem Datensatz gezogen und die Gewichte
+ * werden mit der Lernrate {@code 1 / (λ t)} um den mittleren Subgradienten
+ * des Stapels verschoben.
+ * Optional werden die Gewichte danach auf die Kugel mit Radius
+ * {@code 1 / √λ} projiziert, in der das Optimum stets liegt.
+ * Mit diesem Schema erreicht das Verfahren eine Genauigkeit {@code ε} nach
+ * {@code Õ(1 / (λ ε))} Schritten, unabhängig von der Größe des Datensatzes.
+ * <br>
+ * Der Bias wird hierbei wie ein Gewicht zu einer konstanten Komponente
+ * {@code 1} behandelt, also ebenfalls regularisiert und projiziert.
+ * Ohne dies würde er mit der zu Beginn sehr großen Lernrate unbeschränkt
+ * wachsen.
+ * <br>
+ * Die anfängliche Lernrate der SVM wird nicht verwendet.
+ * Der Schrittzähler der SVM bestimmt {@code t}; eine Epoche führt
+ * {@code ⌈n / k⌉} Schritte aus.
+ * Die Norm der Gewichte wird bei jeder Aktualisierung fortgeschrieben, sodass
+ * auch ein Schritt mit Projektion nur {@code O(k · nnz)} kostet.
+ *
+ * @author Kim Berninger
+ * @version 1.1.0
+ */
+public final class PegasosTrainer extends Trainer {
+    private final int batchSize;
+    private final boolean project;
+
+    /**
+     * Erzeugt ein Pegasos-Verfahren, das in jedem Schritt einen einzelnen
+     * Datenpunkt zieht und die Gewichte projiziert.
+     */
+    public PegasosTrainer() {
+        this(1, true);
+    }
+
+    /**
+     * Erzeugt ein Pegasos-Verfahren mit der angegebenen Stapelgröße.
+     *
+     * @param batchSize die Anzahl der Datenpunkte, die in jedem Schritt
+     *                  gezogen werden
+     * @param project   ob die Gewichte nach jedem Schritt auf die Kugel mit
+     *                  Radius {@code 1 / √λ} projiziert werden sollen
+     *
+     * @throws IllegalArgumentException falls die Stapelgröße nicht positiv
+     *                                  ist
+     */
+    public PegasosTrainer(int batchSize, boolean project) {
+        if (batchSize < 1) {
+            throw new IllegalArgumentException(
+                String.format("Ungültige Stapelgröße: %d", batchSize));
+        }
+        this.batchSize = batchSize;
+        this.project = project;
+    }
+
+    @Override
+    double epoch(LinearSVM<?> svm, TrainingSet data, Random random) {
+        var lambda = svm.getLambda();
+        if (!(lambda > 0)) {
+            throw new IllegalArgumentException(
+                "Das Pegasos-Verfahren benötigt einen positiven "
+                + "Regularisierungsparameter");
+        }
+
+        var size = data.size();
+        if (size == 0) {
+            return 0;
+        }
+
+        var radius = 1 / Math.sqrt(lambda);
+        var norm = svm.squaredNorm() + svm.bias * svm.bias;
+        var batch = new int[batchSize];
+        var margins = new double[batchSize];
+
+        var loss = 0.0;
+        for (var start = 0; start < size; start += batchSize) {
+            for (var k = 0; k < batchSize; k++) {
+                var i = random.nextInt(size);
+                batch[k] = i;
+                margins[k] = data.labels[i] * svm.decision(data.features[i]);
+                loss += Math.max(0, 1 - margins[k]);
+            }
+
+            var eta = 1 / (lambda * (svm.step + 1));
+            var decay = 1 - eta * lambda;
+            svm.shrink(eta);
+            svm.bias *= decay;
+            norm *= decay * decay;
+
+            for (var k = 0; k < batchSize; k++) {
+                if (margins[k] < 1) {
+                    var features = data.features[batch[k]];
+                    var coefficient = eta * data.labels[batch[k]] / batchSize;
+                    norm += coefficient * (2 * svm.decision(features)
+                        + coefficient * (features.squaredNorm() + 1));
+                    features.addTo(svm.weights, coefficient / svm.scale);
+                    svm.bias += coefficient;
+                }
+            }
+
+            if (project && norm > radius * radius) {
+                var factor = radius / Math.sqrt(norm);
+                svm.scale *= factor;
+                svm.bias *= factor;
+                norm = radius * radius;
+            }
+            svm.normalize();
+
+            svm.step++;
+        }
+        return loss / (batchSize * ((size + batchSize - 1) / batchSize));
+    }
+}
@@ -0,0 +1,72 @@
+package classification.models;
+
+/**
+ * Das Verfahren RMSProp von Hinton, das die Lernrate jeder Komponente durch
+ * die Wurzel eines exponentiell gleitenden Mittelwerts ihrer quadrierten
+ * Subgradienten teilt.
+ * <br>
+ * Der Mittelwert einer Komponente müsste in jedem Schritt verkleinert
+ * werden, auch wenn ihr Subgradient Null ist.
+ * Stattdessen wird für jede Komponente der Schritt ihrer letzten
+ * Aktualisierung gespeichert und die ausgelassene Verkleinerung bei der
+ * nächsten Aktualisierung in einem Schritt nachgeholt, sodass das Ergebnis
+ * exakt dem dichten Verfahren entspricht.
+ *
+ * @author Kim Berninger
+ * @version 1.1.0
+ */
+public final class RMSProp extends Optimizer {
+    private static final double DEFAULT_DECAY = 0.9;
+
+    private final double decay;
+
+    private double[] averages;
+    private long[] updated;
+    private long step;
+    private double eta;
+
+    /**
+     * Erzeugt ein RMSProp-Verfahren mit dem Abklingfaktor
+     * {@value #DEFAULT_DECAY}.
+     */
+    public RMSProp() {
+        this(DEFAULT_DECAY);
+    }
+
+    /**
+     * Erzeugt ein RMSProp-Verfahren mit dem übergebenen Abklingfaktor.
+     *
+     * @param decay der Faktor, mit dem der gleitende Mittelwert in jedem
+     *              Schritt multipliziert wird
+     *
+     * @throws IllegalArgumentException falls der Faktor nicht zwischen
+     *                                  {@code 0} und {@code 1} liegt
+     */
+    public RMSProp(double decay) {
+        if (!(decay >= 0 && decay < 1)) {
+            throw new IllegalArgumentException(
+                String.format("Ungültiger Abklingfaktor: %s", decay));
+        }
+        this.decay = decay;
+    }
+
+    @Override
+    void prepare(int dimension, long step, double eta) {
+        if (averages == null || averages.length != dimension + 1) {
+            averages = new double[dimension + 1];
+            updated = new long[dimension + 1];
+        }
+        this.step = step;
+        this.eta = eta;
+    }
+
+    @Override
+    double delta(int index, double direction) {
+        var average = averages[index]
+            * Math.pow(decay, step - updated[index])
+            + (1 - decay) * direction * direction;
+        averages[index] = average;
+        updated[index] = step;
+        return eta * direction / (Math.sqrt(average) + EPSILON);
+    }
+}
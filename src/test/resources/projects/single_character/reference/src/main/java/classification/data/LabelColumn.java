@@ -0,0 +1,152 @@
+package classification.data;
+
+import java.util.Arrays;
+
+/**
+ * Speichert eine Folge von Labels als dichte ganzzahlige Codes in einem
+ * primitiven Array.
+ * Umfasst das zugehörige {@link LabelDictionary} höchstens 256 Labels, so wird
+ * jeder Code in einem {@code byte} abgelegt, ansonsten in einem {@code short}.
+ * <br>
+ * Eine {@code LabelColumn} benötigt so nur ein bis zwei Bytes pro Label und
+ * wird vom {@link classification.io.ColumnBuffer} und der Cache-Datei des
+ * {@link classification.io.CachingDatasetLoader}s verwendet.
+ *
+ * @author Kim Berninger
+ * @version 1.1.0
+ *
+ * @param <L> das Enum, dessen Konstanten in dieser Spalte gespeichert werden
+ *
+ * @see LabelDictionary#newColumn()
+ * @see LabelDictionary#encode(Dataset)
+ */
+public final class LabelColumn<L extends Enum<L> & Label> {
+    private static final int INITIAL_CAPACITY = 16;
+
+    private static final int BYTE_CODES = 1 << Byte.SIZE;
+    private static final int SHORT_CODES = 1 << Short.SIZE;
+
+    private LabelDictionary<L> dictionary;
+
+    private byte[] byteCodes;
+    private short[] shortCodes;
+
+    private int size;
+
+    LabelColumn(LabelDictionary<L> dictionary) {
+        if (dictionary.size() > SHORT_CODES) {
+            throw new IllegalArgumentException(String.format(
+                "Zu viele Labels für eine Label-Spalte: %d",
+                dictionary.size()));
+        }
+
+        this.dictionary = dictionary;
+
+        if (dictionary.size() <= BYTE_CODES) {
+            byteCodes = new byte[INITIAL_CAPACITY];
+        } else {
+            shortCodes = new short[INITIAL_CAPACITY];
+        }
+    }
+
+    /**
+     * Liefert das Wörterbuch, auf das sich die Codes dieser Spalte beziehen.
+     *
+     * @return das zugehörige {@link LabelDictionary}
+     */
+    public LabelDictionary<L> getDictionary() {
+        return dictionary;
+    }
+
+    /**
+     * Liefert die Anzahl der gespeicherten Labels.
+     *
+     * @return die Länge dieser Spalte
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Hängt das übergebene Label an das Ende dieser Spalte an.
+     *
+     * @param label das anzuhängende Label
+     */
+    public void add(L label) {
+        addCode(dictionary.encode(label));
+    }
+
+    /**
+     * Hängt den übergebenen Code an das Ende dieser Spalte an.
+     *
+     * @param code der Code des anzuhängenden Labels
+     *
+     * @throws IllegalArgumentException falls der Code zu keinem Label des
+     *                                  Wörterbuchs gehört
+     */
+    public void addCode(int code) {
+        if (code < 0 || code >= dictionary.size()) {
+            throw new IllegalArgumentException(
+                String.format("Ungültiger Label-Code: %d", code));
+        }
+
+        if (byteCodes != null) {
+            if (size == byteCodes.length) {
+                byteCodes = Arrays.copyOf(byteCodes, 2 * size);
+            }
+            byteCodes[size++] = (byte) code;
+        } else {
+            if (size == shortCodes.length) {
+                shortCodes = Arrays.copyOf(shortCodes, 2 * size);
+            }
+            shortCodes[size++] = (short) code;
+        }
+    }
+
+    /**
+     * Liefert den Code des Labels an der übergebenen Position.
+     *
+     * @param index die Position des Labels in dieser Spalte
+     *
+     * @return den Code des Labels
+     *
+     * @throws IndexOutOfBoundsException falls {@code index} außerhalb dieser
+     *                                   Spalte liegt
+     */
+    public int getCode(int index) {
+        if (index < 0 || index >= size) {
+            throw new IndexOutOfBoundsException(index);
+        }
+        return byteCodes != null
+            ? Byte.toUnsignedInt(byteCodes[index])
+            : Short.toUnsignedInt(shortCodes[index]);
+    }
+
+    /**
+     * Liefert das Label an der übergebenen Position.
+     *
+     * @param index die Position des Labels in dieser Spalte
+     *
+     * @return das dekodierte Label
+     *
+     * @throws IndexOutOfBoundsException falls {@code index} außerhalb dieser
+     *                                   Spalte liegt
+     */
+    public L get(int index) {
+        return dictionary.decode(getCode(index));
+    }
+
+    /**
+     * Zählt, wie oft jedes Label in dieser Spalte vorkommt.
+     *
+     * @return ein Array, in dessen {@code i}-tem Eintrag die Häufigkeit des
+     *         Labels mit dem Code {@code i} steht
+     */
+    public int[] counts() {
+        var counts = new int[dictionary.size()];
+        for (var i = 0; i < size; i++) {
+            counts[getCode(i)]++;
+        }
+        return counts;
+    }
+}
@@ -0,0 +1,178 @@
+package classification.io;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import classification.data.Label;
+import classification.data.LabelColumn;
+import classification.data.LabelDictionary;
+
+/**
+ * Speichert die Zeilen einer CSV-Datei spaltenweise anhand eines
+ * {@link RowSchema}s.
+ * Die Werte jeder {@code double}-Spalte werden in einem primitiven Array,
+ * die Labels jeder Label-Spalte in einer {@link LabelColumn} abgelegt.
+ * Lediglich für Textspalten werden {@code String}s erzeugt.
+ * <br>
+ * Wie bei {@link TypedRow} werden die Spalten je Typ gezählt.
+ *
+ * @author Kim Berninger
+ * @version 1.1.0
+ *
+ * @see CSVReader#readColumns(java.io.File, RowSchema)
+ */
+public class ColumnBuffer {
+    private static final int INITIAL_CAPACITY = 16;
+
+    private RowSchema schema;
+    private TypedRow row;
+
+    private double[][] doubles;
+    private LabelColumn<?>[] labels;
+    private List<List<String>> texts;
+
+    private int size;
+
+    /**
+     * Erzeugt einen leeren {@code ColumnBuffer} mit dem übergebenen Schema.
+     *
+     * @param schema das Schema, nach dem die Zeilen gelesen werden sollen
+     */
+    public ColumnBuffer(RowSchema schema) {
+        this.schema = schema;
+        this.row = schema.newRow();
+
+        doubles = new double[schema.getDoubleCount()][INITIAL_CAPACITY];
+
+        labels = new LabelColumn<?>[schema.getLabelCount()];
+        for (var i = 0; i < labels.length; i++) {
+            labels[i] = schema.getDictionary(i).newColumn();
+        }
+
+        texts = new ArrayList<>();
+        for (var i = 0; i < schema.getTextCount(); i++) {
+            texts.add(new ArrayList<>());
+        }
+    }
+
+    /**
+     * Liest die aktuelle Zeile des übergebenen {@link CSVTokenizer}s und hängt
+     * ihre Werte an die Spalten dieses Puffers an.
+     *
+     * @param tokenizer der {@code CSVTokenizer}, dessen aktuelle Zeile
+     *                  angehängt werden soll
+     *
+     * @throws IllegalArgumentException falls eine {@code double}-Spalte keine
+     *                                  gültige Zahl oder eine Label-Spalte
+     *                                  einen unbekannten Wert enthält
+     */
+    public void append(CSVTokenizer tokenizer) {
+        schema.read(tokenizer, row);
+        if (row.error != null) {
+            throw new IllegalArgumentException(String.format(
+                "%s in Zeile %d", row.error, tokenizer.getLineNumber()));
+        }
+        appendRow();
+    }
+
+    /**
+     * Hängt die Werte der übergebenen Zeile an die Spalten dieses Puffers an.
+     * Da die Nummer der Zeile in der Datei hier nicht bekannt ist, nennt die
+     * Fehlermeldung einer ungültigen Zeile deren Position unter den bisher
+     * angehängten Zeilen.
+     *
+     * @param values die Elemente einer Zeile der CSV-Datei
+     *
+     * @throws IllegalArgumentException falls eine {@code double}-Spalte keine
+     *                                  gültige Zahl oder eine Label-Spalte
+     *                                  einen unbekannten Wert enthält
+     */
+    public void append(String[] values) {
+        schema.read(values, row);
+        if (row.error != null) {
+            throw new IllegalArgumentException(String.format(
+                "%s in der %d. Datenzeile", row.error, size + 1));
+        }
+        appendRow();
+    }
+
+    /**
+     * Liefert die Anzahl der gespeicherten Zeilen.
+     *
+     * @return die Länge jeder Spalte dieses Puffers
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Liefert die Werte der {@code index}-ten {@code double}-Spalte.
+     *
+     * @param index der Index unter den {@code double}-Spalten des Schemas
+     *
+     * @return ein Array der Länge {@link #size()} mit den Werten der Spalte
+     */
+    public double[] getDoubles(int index) {
+        return Arrays.copyOf(doubles[index], size);
+    }
+
+    /**
+     * Liefert die Labels der {@code index}-ten Label-Spalte.
+     *
+     * @param <L>       das Enum der Labels
+     * @param index     der Index unter den Label-Spalten des Schemas
+     * @param labelType das Enum, das für diese Spalte im Schema angegeben
+     *                  wurde
+     *
+     * @return die Label-Spalte
+     *
+     * @throws IllegalArgumentException falls die Spalte im Schema mit einem
+     *                                  anderen Enum angelegt wurde
+     */
+    @SuppressWarnings("unchecked")
+    public <L extends Enum<L> & Label> LabelColumn<L> getLabels(int index,
+        Class<L> labelType) {
+        if (labels[index].getDictionary() != LabelDictionary.of(labelType)) {
+            throw new IllegalArgumentException(String.format(
+                "Die Label-Spalte %d enthält keine Werte vom Typ %s",
+                index, labelType.getName()));
+        }
+        return (LabelColumn<L>) labels[index];
+    }
+
+    /**
+     * Liefert die Werte der {@code index}-ten Textspalte.
+     *
+     * @param index der Index unter den Textspalten des Schemas
+     *
+     * @return eine unveränderliche Liste mit den Werten der Spalte
+     */
+    public List<String> getTexts(int index) {
+        return List.copyOf(texts.get(index));
+    }
+
+    LabelColumn<?> getLabels(int index) {
+        return labels[index];
+    }
+
+    private void appendRow() {
+        if (doubles.length > 0 && size == doubles[0].length) {
+            for (var i = 0; i < doubles.length; i++) {
+                doubles[i] = Arrays.copyOf(doubles[i], 2 * size);
+            }
+        }
+
+        for (var i = 0; i < doubles.length; i++) {
+            doubles[i][size] = row.doubles[i];
+        }
+        for (var i = 0; i < labels.length; i++) {
+            labels[i].addCode(row.labelCodes[i]);
+        }
+        for (var i = 0; i < texts.size(); i++) {
+            texts.get(i).add(row.texts[i]);
+        }
+
+        size++;
+    }
+}
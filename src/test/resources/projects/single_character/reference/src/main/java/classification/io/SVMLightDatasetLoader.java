@@ -0,0 +1,308 @@
+package classification.io;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+
+import classification.data.BinaryLabel;
+import classification.data.Dataset;
+import classification.data.SparseSample;
+import classification.data.SupervisedSample;
+
+/**
+ * Wird verwendet, um einen Datensatz aus einer Datei im Format von
+ * <a href="https://www.cs.cornell.edu/people/tj/svm_light/">SVMlight</a>
+ * bzw. LIBSVM zu lesen.
+ * <br>
+ * Jede Zeile einer solchen Datei hat die Form
+ * <blockquote>
+ *   <pre><code>
+ *&lt;label&gt; &lt;index&gt;:&lt;value&gt; &lt;index&gt;:&lt;value&gt; ...
+ *   </code></pre>
+ * </blockquote>
+ * wobei die Indizes bei {@code 1} beginnen und streng aufsteigend sind.
+ * Auf die Einträge kann ein Kommentar folgen, der mit {@code #} beginnt.
+ * Einträge der Form {@code qid:<n>} sowie Kommentare werden ignoriert.
+ * Jede Zeile wird in einen {@link SparseSample} umgewandelt, dessen Indizes
+ * bei {@code 0} beginnen.
+ * <br>
+ * Die Zeilen werden mit einem {@link CSVTokenizer} gelesen und direkt im
+ * Zeichenpuffer zerlegt, sodass für die einzelnen Einträge keine
+ * {@code String}s erzeugt werden.
+ * Wird keine Dimension angegeben, so entspricht sie dem größten Index in der
+ * Datei.
+ * Wie bei {@link CSVReader} werden gzip-komprimierte Dateien beim Lesen
+ * entpackt.
+ *
+ * @author Kim Berninger
+ * @version 1.1.0
+ */
+public class SVMLightDatasetLoader
+    implements DatasetLoader<SupervisedSample<SparseSample, BinaryLabel>> {
+    private static final int INITIAL_CAPACITY = 16;
+
+    /**
+     * Die möglichen Konventionen, nach denen die Labels in einer Datei
+     * kodiert sind.
+     */
+    public enum LabelConvention {
+        /** Positivbeispiele haben das Label {@code +1}, Negativbeispiele
+         *  {@code -1}. */
+        PLUS_MINUS_ONE(1, -1),
+
+        /** Positivbeispiele haben das Label {@code 1}, Negativbeispiele
+         *  {@code 0}. */
+        ZERO_ONE(1, 0);
+
+        private double positive;
+        private double negative;
+
+        LabelConvention(double positive, double negative) {
+            this.positive = positive;
+            this.negative = negative;
+        }
+
+        BinaryLabel toLabel(double value) {
+            if (value == positive) {
+                return BinaryLabel.POSITIVE;
+            }
+            if (value == negative) {
+                return BinaryLabel.NEGATIVE;
+            }
+            return null;
+        }
+    }
+
+    private DataSource source;
+    private LabelConvention convention;
+    private int dimension;
+
+    /**
+     * Erzeugt einen {@code SVMLightDatasetLoader}, der die Labels der
+     * übergebenen Datei nach {@link LabelConvention#PLUS_MINUS_ONE}
+     * interpretiert und die Dimension aus der Datei bestimmt.
+     *
+     * @param file die zu lesende Datei
+     */
+    public SVMLightDatasetLoader(File file) {
+        this(file, LabelConvention.PLUS_MINUS_ONE);
+    }
+
+    /**
+     * Erzeugt einen {@code SVMLightDatasetLoader}, der die Labels der
+     * übergebenen Datei nach der übergebenen Konvention interpretiert und die
+     * Dimension aus der Datei bestimmt.
+     *
+     * @param file       die zu lesende Datei
+     * @param convention die Konvention, nach der die Labels kodiert sind
+     */
+    public SVMLightDatasetLoader(File file, LabelConvention convention) {
+        this(file, convention, -1);
+    }
+
+    /**
+     * Erzeugt einen {@code SVMLightDatasetLoader}, der die Labels der
+     * übergebenen Datei nach der übergebenen Konvention interpretiert und
+     * Datenpunkte der angegebenen Dimension erzeugt.
+     * Die Datenpunkte werden hierbei direkt beim Lesen erzeugt, ohne dass
+     * zuvor die gesamte Datei gelesen werden muss.
+     *
+     * @param file       die zu lesende Datei
+     * @param convention die Konvention, nach der die Labels kodiert sind
+     * @param dimension  die Dimension der Feature-Vektoren oder {@code -1},
+     *                   falls sie dem größten Index in der Datei entsprechen
+     *                   soll
+     *
+     * @throws IllegalArgumentException falls {@code dimension} kleiner als
+     *                                  {@code -1} ist
+     */
+    public SVMLightDatasetLoader(File file, LabelConvention convention,
+        int dimension) {
+        this(DataSource.of(file), convention, dimension);
+    }
+
+    /**
+     * Erzeugt einen {@code SVMLightDatasetLoader}, der die Labels der
+     * übergebenen Quelle nach der übergebenen Konvention interpretiert und
+     * Datenpunkte der angegebenen Dimension erzeugt.
+     *
+     * @param source     die zu lesende Quelle, zum Beispiel eine Ressource
+     *                   aus dem Klassenpfad
+     * @param convention die Konvention, nach der die Labels kodiert sind
+     * @param dimension  die Dimension der Feature-Vektoren oder {@code -1},
+     *                   falls sie dem größten Index in der Datei entsprechen
+     *                   soll
+     *
+     * @throws IllegalArgumentException falls {@code dimension} kleiner als
+     *                                  {@code -1} ist
+     */
+    public SVMLightDatasetLoader(DataSource source,
+        LabelConvention convention, int dimension) {
+        if (dimension < -1) {
+            throw new IllegalArgumentException(
+                String.format("Ungültige Dimension: %d", dimension));
+        }
+        this.source = source;
+        this.convention = convention;
+        this.dimension = dimension;
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * @throws IllegalArgumentException falls eine Zeile nicht dem Format
+     *                                  entspricht
+     */
+    @Override
+    public Dataset<SupervisedSample<SparseSample, BinaryLabel>>
+        loadDataset() {
+        try (var tokenizer = new CSVReader('#').tokenize(source)) {
+            Dataset<SupervisedSample<SparseSample, BinaryLabel>> samples =
+                CSVDatasetLoader.createDataset();
+
+            var row = new Row();
+
+            var labels = new ArrayList<BinaryLabel>();
+            var rows = new ArrayList<int[]>();
+            var rowValues = new ArrayList<double[]>();
+            var maxIndex = -1;
+
+            while (tokenizer.nextRow()) {
+                if (tokenizer.getFieldCount() == 0) {
+                    continue;
+                }
+
+                var start = tokenizer.getFieldStart(0);
+                var end = tokenizer.getFieldEnd(0);
+                if (start == end) {
+                    continue;
+                }
+
+                row.parse(tokenizer.getBuffer(), start, end,
+                    tokenizer.getLineNumber());
+
+                var count = row.count;
+                if (count > 0) {
+                    maxIndex = Math.max(maxIndex, row.indices[count - 1]);
+                }
+
+                if (dimension >= 0) {
+                    if (maxIndex >= dimension) {
+                        throw new IllegalArgumentException(String.format(
+                            "Index %d in Zeile %d überschreitet die "
+                            + "Dimension %d", maxIndex + 1,
+                            tokenizer.getLineNumber(), dimension));
+                    }
+                    samples.add(new SupervisedSample<>(new SparseSample(
+                        dimension, Arrays.copyOf(row.indices, count),
+                        Arrays.copyOf(row.values, count)), row.label));
+                } else {
+                    labels.add(row.label);
+                    rows.add(Arrays.copyOf(row.indices, count));
+                    rowValues.add(Arrays.copyOf(row.values, count));
+                }
+            }
+
+            for (var i = 0; i < rows.size(); i++) {
+                samples.add(new SupervisedSample<>(new SparseSample(
+                    maxIndex + 1, rows.get(i), rowValues.get(i)),
+                    labels.get(i)));
+            }
+
+            return samples;
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private class Row {
+        private BinaryLabel label;
+        private int[] indices = new int[INITIAL_CAPACITY];
+        private double[] values = new double[INITIAL_CAPACITY];
+        private int count;
+
+        void parse(char[] buffer, int start, int end, long lineNumber) {
+            count = 0;
+            label = null;
+
+            var i = start;
+            while (i < end) {
+                while (i < end && buffer[i] <= ' ') {
+                    i++;
+                }
+                if (i == end) {
+                    break;
+                }
+
+                var tokenStart = i;
+                var colon = -1;
+                while (i < end && buffer[i] > ' ') {
+                    if (buffer[i] == ':' && colon < 0) {
+                        colon = i;
+                    }
+                    i++;
+                }
+
+                if (tokenStart == start) {
+                    var value = DoubleParser.parse(buffer, tokenStart, i);
+                    label = convention.toLabel(value);
+                    if (label == null) {
+                        throw invalid(buffer, tokenStart, i, lineNumber);
+                    }
+                    continue;
+                }
+
+                if (colon < 0) {
+                    throw invalid(buffer, tokenStart, i, lineNumber);
+                }
+                if (colon - tokenStart == 3 && buffer[tokenStart] == 'q'
+                    && buffer[tokenStart + 1] == 'i'
+                    && buffer[tokenStart + 2] == 'd') {
+                    continue;
+                }
+
+                var index = 0L;
+                for (var j = tokenStart; j < colon; j++) {
+                    var digit = buffer[j] - '0';
+                    if (digit < 0 || digit > 9 || index > Integer.MAX_VALUE) {
+                        throw invalid(buffer, tokenStart, i, lineNumber);
+                    }
+                    index = 10 * index + digit;
+                }
+
+                var value = DoubleParser.parse(buffer, colon + 1, i);
+
+                if (index < 1 || index > Integer.MAX_VALUE
+                    || colon == tokenStart
+                    || count > 0 && index - 1 <= indices[count - 1]
+                    || Double.isNaN(value)
+                    && !DoubleParser.isNaN(buffer, colon + 1, i)) {
+                    throw invalid(buffer, tokenStart, i, lineNumber);
+                }
+
+                if (count == indices.length) {
+                    indices = Arrays.copyOf(indices, 2 * count);
+                    values = Arrays.copyOf(values, 2 * count);
+                }
+                indices[count] = (int) index - 1;
+                values[count] = value;
+                count++;
+            }
+
+            if (label == null) {
+                throw new IllegalArgumentException(
+                    String.format("Fehlendes Label in Zeile %d", lineNumber));
+            }
+        }
+
+        private IllegalArgumentException invalid(char[] buffer, int start,
+            int end, long lineNumber) {
+            return new IllegalArgumentException(String.format(
+                "Ungültiger Eintrag in Zeile %d: %s", lineNumber,
+                new String(buffer, start, end - start)));
+        }
+    }
+}
@@ -0,0 +1,194 @@
+package classification.models;
+
+import java.time.Duration;
+import java.util.Objects;
+
+import classification.data.BinaryLabel;
+import classification.data.Dataset;
+import classification.data.SupervisedSample;
+
+/**
+ * Beschreibt, wann {@link LinearSVM#fit} das Training vor Ablauf der
+ * angegebenen Anzahl an Epochen beenden soll.
+ * Die Kriterien werden wie bei einem {@link classification.io.RowSchema}
+ * nacheinander hinzugefügt:
+ * <blockquote>
+ *   <pre><code>
+ *svm.withEarlyStopping(new EarlyStopping()
+ *    .tolerance(1e-3)
+ *    .validation(evaluationSet)
+ *    .timeLimit(Duration.ofSeconds(10)));
+ *   </code></pre>
+ * </blockquote>
+ * Das Training endet nach der ersten Epoche, nach der eines der folgenden
+ * Kriterien erfüllt ist:
+ * <ul>
+ *   <li>Der überwachte Verlust hat sich {@link #patience(int)} Epochen in
+ *       Folge nicht um mehr als {@link #tolerance(double)} relativ zum
+ *       bisher besten Wert verbessert.
+ *       Überwacht wird der mittlere Hinge-Verlust auf dem
+ *       {@link #validation(Dataset) Validierungsdatensatz}, falls einer
+ *       festgelegt wurde, und andernfalls der Verlust, den
+ *       {@link LinearSVM#fit} für die Epoche liefert.
+ *       Dieses Kriterium ist nur aktiv, wenn eine Toleranz oder ein
+ *       Validierungsdatensatz festgelegt wurde.</li>
+ *   <li>Das Training dauert insgesamt länger als das
+ *       {@link #timeLimit(Duration) Zeitbudget}.</li>
+ *   <li>Es wurden {@link #maxEpochs(int)} Epochen ausgeführt.</li>
+ *   <li>Das Trainingsverfahren meldet, dass es konvergiert ist, wie der
+ *       {@link DualCoordinateDescentTrainer}.</li>
+ * </ul>
+ * Die Liste der Verluste, die {@link LinearSVM#fit} liefert, endet mit der
+ * letzten ausgeführten Epoche.
+ *
+ * @author Kim Berninger
+ * @version 1.1.0
+ */
+public final class EarlyStopping {
+    private static final int DEFAULT_PATIENCE = 5;
+
+    private double tolerance;
+    private int patience = DEFAULT_PATIENCE;
+    private boolean monitored;
+    private Dataset<? extends SupervisedSample<?, BinaryLabel>> validation;
+    private Duration timeLimit;
+    private int maxEpochs = Integer.MAX_VALUE;
+
+    /**
+     * Legt fest, um welchen Anteil sich der überwachte Verlust gegenüber dem
+     * bisher besten Wert mindestens verbessern muss, damit eine Epoche als
+     * Verbesserung zählt.
+     *
+     * @param tolerance die relative Toleranz
+     *
+     * @return diese Kriterien
+     *
+     * @throws IllegalArgumentException falls die Toleranz negativ ist
+     */
+    public EarlyStopping tolerance(double tolerance) {
+        if (!(tolerance >= 0)) {
+            throw new IllegalArgumentException(
+                String.format("Ungültige Toleranz: %s", tolerance));
+        }
+        this.tolerance = tolerance;
+        monitored = true;
+        return this;
+    }
+
+    /**
+     * Legt fest, nach wie vielen Epochen in Folge ohne Verbesserung das
+     * Training beendet wird.
+     * Standardmäßig sind dies {@value #DEFAULT_PATIENCE} Epochen.
+     *
+     * @param patience die Anzahl der Epochen
+     *
+     * @return diese Kriterien
+     *
+     * @throws IllegalArgumentException falls die Anzahl nicht positiv ist
+     */
+    public EarlyStopping patience(int patience) {
+        if (patience < 1) {
+            throw new IllegalArgumentException(
+                String.format("Ungültige Geduld: %d", patience));
+        }
+        this.patience = patience;
+        return this;
+    }
+
+    /**
+     * Legt einen Validierungsdatensatz fest, dessen mittlerer Hinge-Verlust
+     * nach jeder Epoche berechnet und statt des Trainingsverlustes überwacht
+     * wird.
+     *
+     * @param validation der Validierungsdatensatz
+     *
+     * @return diese Kriterien
+     */
+    public EarlyStopping validation(
+        Dataset<? extends SupervisedSample<?, BinaryLabel>> validation) {
+        this.validation = Objects.requireNonNull(validation);
+        monitored = true;
+        return this;
+    }
+
+    /**
+     * Legt fest, wie lange das Training insgesamt höchstens dauern soll.
+     * Die Dauer wird nur zwischen den Epochen überprüft.
+     *
+     * @param timeLimit das Zeitbudget
+     *
+     * @return diese Kriterien
+     *
+     * @throws IllegalArgumentException falls das Zeitbudget negativ ist
+     */
+    public EarlyStopping timeLimit(Duration timeLimit) {
+        if (timeLimit.isNegative()) {
+            throw new IllegalArgumentException(
+                String.format("Ungültiges Zeitbudget: %s", timeLimit));
+        }
+        this.timeLimit = timeLimit;
+        return this;
+    }
+
+    /**
+     * Legt fest, wie viele Epochen höchstens ausgeführt werden, auch wenn
+     * {@link LinearSVM#fit} mit einer größeren Anzahl aufgerufen wird.
+     *
+     * @param maxEpochs die größte Anzahl an Epochen
+     *
+     * @return diese Kriterien
+     *
+     * @throws IllegalArgumentException falls die Anzahl negativ ist
+     */
+    public EarlyStopping maxEpochs(int maxEpochs) {
+        if (maxEpochs < 0) {
+            throw new IllegalArgumentException(
+                String.format("Ungültige Anzahl an Epochen: %d", maxEpochs));
+        }
+        this.maxEpochs = maxEpochs;
+        return this;
+    }
+
+    Monitor start(int dimension) {
+        return new Monitor(dimension);
+    }
+
+    final class Monitor {
+        private final TrainingSet validationSet;
+        private final long start = System.nanoTime();
+
+        private double best = Double.POSITIVE_INFINITY;
+        private int stale;
+
+        private Monitor(int dimension) {
+            validationSet = validation == null
+                ? null
+                : TrainingSet.of(validation, dimension);
+        }
+
+        int getMaxEpochs() {
+            return maxEpochs;
+        }
+
+        boolean stop(LinearSVM<?> svm, double loss) {
+            if (timeLimit != null
+                && System.nanoTime() - start >= timeLimit.toNanos()) {
+                return true;
+            }
+            if (!monitored) {
+                return false;
+            }
+
+            if (validationSet != null) {
+                loss = svm.hingeLoss(validationSet);
+            }
+            if (Double.isInfinite(best)
+                || best - loss > tolerance * Math.abs(best)) {
+                best = loss;
+                stale = 0;
+                return false;
+            }
+            return ++stale >= patience;
+        }
+    }
+}
@@ -0,0 +1,112 @@
+package classification.models;
+
+/**
+ * Eine Regel, nach der ein Trainingsschritt einer {@link LinearSVM} die
+ * Gewichte und den Bias in Richtung des negativen Subgradienten des
+ * Hinge-Verlustes verschiebt.
+ * Ein {@code Optimizer} wird mit {@link LinearSVM#withOptimizer(Optimizer)}
+ * ausgewählt und von {@link LinearSVM#partialFit}, dem {@link SGDTrainer}
+ * und dem {@link MiniBatchTrainer} verwendet.
+ * Mit den übrigen Trainingsverfahren kann nur der Standardoptimierer
+ * verwendet werden.
+ * <br>
+ * Die Regularisierung ist von der Regel unabhängig: Vor jedem Schritt werden
+ * alle Gewichte über den Skalierungsfaktor der SVM um {@code η λ} verkleinert
+ * (entkoppelter Weight Decay).
+ * Der Optimierer verändert daher nur die Komponenten, in denen der
+ * Subgradient des Hinge-Verlustes von Null verschieden ist, sodass ein
+ * Schritt mit einem {@link classification.data.SparseSample} auch mit
+ * komponentenweisen Lernraten nur {@code O(nnz)} kostet.
+ * Der Zustand je Komponente wird in primitiven Arrays gespeichert, deren
+ * letzter Eintrag jeweils zum Bias gehört.
+ * <br>
+ * Ein Optimierer speichert Zustand über die Schritte hinweg und darf daher
+ * nur von einer SVM verwendet werden.
+ * Unterklassen können nur innerhalb dieses Pakets definiert werden.
+ *
+ * @author Kim Berninger
+ * @version 1.1.0
+ *
+ * @see AdaGrad
+ * @see RMSProp
+ * @see Adam
+ * @see AveragedSGD
+ */
+public abstract class Optimizer {
+    static final double EPSILON = 1e-8;
+
+    Optimizer() {
+    }
+
+    /**
+     * Bereitet einen Schritt vor, zum Beispiel durch das Anlegen des
+     * Zustands beim ersten Schritt.
+     * Wird vor jedem Schritt aufgerufen, auch wenn dieser die Gewichte nicht
+     * verändert.
+     *
+     * @param dimension die Dimension der Gewichte ohne den Bias
+     * @param step      der Schrittzähler der SVM vor diesem Schritt
+     * @param eta       die Lernrate dieses Schrittes
+     */
+    abstract void prepare(int dimension, long step, double eta);
+
+    /**
+     * Liefert die Änderung einer Komponente in die übergebene Richtung und
+     * schreibt den Zustand der Komponente fort.
+     *
+     * @param index     der Index der Komponente, für den Bias die Dimension
+     * @param direction die Komponente des negativen Subgradienten
+     *
+     * @return die Änderung der Komponente
+     */
+    abstract double delta(int index, double direction);
+
+    void update(LinearSVM<?> svm, Features features, double coefficient) {
+        var dimension = svm.getDimension();
+        for (var k = 0; k < features.size(); k++) {
+            var j = features.index(k);
+            var direction = coefficient * features.value(k);
+            var change = delta(j, direction) / svm.scale;
+            svm.weights[j] += change;
+            changed(j, change);
+        }
+        svm.bias += delta(dimension, coefficient);
+    }
+
+    void update(LinearSVM<?> svm, double[] direction, double bias) {
+        var dimension = svm.getDimension();
+        for (var j = 0; j < dimension; j++) {
+            if (direction[j] != 0) {
+                var change = delta(j, direction[j]) / svm.scale;
+                svm.weights[j] += change;
+                changed(j, change);
+            }
+        }
+        svm.bias += delta(dimension, bias);
+    }
+
+    void changed(int index, double change) {
+    }
+
+    void rescaling(LinearSVM<?> svm) {
+    }
+
+    void completed(LinearSVM<?> svm) {
+    }
+
+    double decision(LinearSVM<?> svm, Features features) {
+        return svm.decision(features);
+    }
+
+    double[] weights(LinearSVM<?> svm) {
+        var result = new double[svm.getDimension()];
+        for (var i = 0; i < result.length; i++) {
+            result[i] = svm.scale * svm.weights[i];
+        }
+        return result;
+    }
+
+    double bias(LinearSVM<?> svm) {
+        return svm.bias;
+    }
+}
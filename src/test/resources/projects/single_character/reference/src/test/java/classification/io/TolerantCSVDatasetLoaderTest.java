@@ -0,0 +1,72 @@
+package classification.io;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+
+import java.nio.charset.StandardCharsets;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.regex.Pattern;
+
+import org.junit.jupiter.api.Test;
+
+import classification.data.BinaryLabel;
+import classification.data.SupervisedSample;
+
+import classification.examples.twodimensional.LabeledPointParser;
+import classification.examples.twodimensional.Point;
+
+/**
+ * @author Kim Berninger
+ * @version 1.1.0
+ */
+class TolerantCSVDatasetLoaderTest {
+    private static final String CONTENT = "1.0,2.0,p\nabc,2.0,n\n3.0,,p\n";
+
+    @Test
+    void rejectsMalformedNumbersOfRangeParsers() throws IOException {
+        var quarantine = new Quarantine();
+        var samples = load(new CSVReader(','), quarantine);
+
+        assertEquals(1, samples.size());
+        assertEquals(1.0, samples.get(0).getSample().getFeatures().get(0));
+        assertRejected(quarantine);
+        assertEquals("Ungültige Zahl in Spalte 0: \"abc\"",
+            quarantine.getEntries().get(0).getReason());
+    }
+
+    @Test
+    void rejectsMalformedNumbersOfStringParsers() throws IOException {
+        var quarantine = new Quarantine();
+        var samples = load(new CSVReader(Pattern.compile(",")), quarantine);
+
+        assertEquals(1, samples.size());
+        assertRejected(quarantine);
+    }
+
+    private static List<SupervisedSample<Point, BinaryLabel>> load(
+        CSVReader reader, Quarantine quarantine) throws IOException {
+        var source = DataSource.of(new ByteArrayInputStream(
+            CONTENT.getBytes(StandardCharsets.UTF_8)));
+        var loader = new TolerantCSVDatasetLoader<>(
+            new CSVDatasetLoader<>(source, reader, new LabeledPointParser()),
+            quarantine);
+
+        var samples = new ArrayList<SupervisedSample<Point, BinaryLabel>>();
+        loader.forEachSample(samples::add, null);
+        return samples;
+    }
+
+    private static void assertRejected(Quarantine quarantine) {
+        assertEquals(2, quarantine.getRejectedCount());
+
+        var entries = quarantine.getEntries();
+        assertEquals(2, entries.get(0).getLineNumber());
+        assertEquals(List.of("abc", "2.0", "n"), entries.get(0).getFields());
+        assertEquals(3, entries.get(1).getLineNumber());
+        assertEquals(List.of("3.0", "", "p"), entries.get(1).getFields());
+    }
+}
@@ -8,6 +8,7 @@ package classification.data;
  * @version 1.1.0
  * 
  * @see BinaryLabel
+ * @see LabelDictionary
  */
 public interface Label {
 }
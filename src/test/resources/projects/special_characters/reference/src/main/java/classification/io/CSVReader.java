@@ -1,13 +1,52 @@
 package classification.io;
 
+import java.io.BufferedReader;
 import java.io.File;
 import java.io.IOException;
-import java.nio.file.Files;
+import java.io.InputStreamReader;
+import java.io.UncheckedIOException;
+
+import java.nio.charset.StandardCharsets;
+
+import java.util.Arrays;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.function.Consumer;
+import java.util.regex.Pattern;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
 
 import static java.util.function.Predicate.not;
 
 /**
  * Wird verwendet um CSV-Dateien einzulesen.
+ * <br>
+ * Besteht das Trennzeichen aus einem einzelnen Zeichen, so werden die Zeilen
+ * mit einem {@link CSVTokenizer} zerlegt, der ohne reguläre Ausdrücke
+ * auskommt.
+ * Die Zerlegung mit einem regulären Ausdruck muss explizit über
+ * {@link #CSVReader(Pattern)} oder über einen Ausdruck, der aus mehr als einem
+ * Zeichen besteht, gewählt werden.
+ * <br>
+ * Neben Dateien kann jede {@link DataSource} gelesen werden, zum Beispiel eine
+ * Ressource aus dem Klassenpfad oder ein bereits geöffneter Stream.
+ * gzip-komprimierte Inhalte werden hierbei anhand ihrer Kennung erkannt und
+ * beim Lesen entpackt.
+ * Alle Quellen müssen in UTF-8 kodiert sein.
+ * <br>
+ * Hat eine CSV-Datei eine Kopfzeile, so kann sie mit {@link #withHeader()}
+ * übersprungen oder mit {@link #detectHeader()} erkannt werden.
+ * Mit {@link #select(String...)} und {@link #select(int...)} lassen sich
+ * einzelne Spalten über ihren Namen in der Kopfzeile oder ihre Position
+ * auswählen.
+ * Jede Zeile enthält dann nur noch die gewählten Elemente in der Reihenfolge
+ * der Auswahl.
+ * Beim Zerlegen mit einem {@link CSVTokenizer} werden die übrigen Elemente
+ * übersprungen, ohne dass für sie {@code String}s erzeugt werden.
+ * <br>
+ * Mit {@link #readFile(DataSource, Consumer, LoadStatistics)} lässt sich
+ * messen, wie sich die Zeit des Einlesens auf das Lesen der Bytes, das
+ * Zerlegen der Zeilen und ihre Verarbeitung verteilt.
  *
  * @author Kim Berninger
  * @version 1.1.0
@@ -15,7 +54,23 @@ import static java.util.function.Predicate.not;
 public class CSVReader {
     private static final String STANDARD_SEPARATOR = ",";
 
-    private String separator;
+    private static final String REGEX_METACHARACTERS = ".$|()[{^?*+\\";
+
+    private static final int BUFFER_SIZE = 1 << 16;
+
+    private char separator;
+    private Pattern pattern;
+
+    private char quote;
+    private boolean quoting;
+
+    private Header header = Header.ABSENT;
+    private String[] columnNames;
+    private int[] columns;
+
+    private enum Header {
+        ABSENT, PRESENT, DETECT
+    }
 
     /**
      * Erzeugt einen neuen {@code CSVReader} mit {@value #STANDARD_SEPARATOR}
@@ -29,14 +84,164 @@ public class CSVReader {
      * Erzeugt einen neuen {@code CSVReader} mit dem übergebenen String als
      * Trennzeichen.
      * Hierfür kann auch ein regulärer Ausdruck verwendet werden.
+     * Handelt es sich um ein einzelnes Zeichen ohne besondere Bedeutung in
+     * regulären Ausdrücken, so wird stattdessen der schnellere
+     * {@link CSVTokenizer} verwendet.
      *
      * @param separator der Ausdruck, an dem eine Zeile der CSV-Datei geteilt
      *                  werden soll
      */
     public CSVReader(String separator) {
+        if (separator.length() == 1
+            && REGEX_METACHARACTERS.indexOf(separator.charAt(0)) < 0) {
+            this.separator = separator.charAt(0);
+        } else {
+            this.pattern = Pattern.compile(separator);
+        }
+    }
+
+    /**
+     * Erzeugt einen neuen {@code CSVReader} mit dem übergebenen Zeichen als
+     * Trennzeichen.
+     * Die Zeilen werden mit einem {@link CSVTokenizer} zerlegt.
+     *
+     * @param separator das Zeichen, an dem eine Zeile der CSV-Datei geteilt
+     *                  werden soll
+     */
+    public CSVReader(char separator) {
         this.separator = separator;
     }
 
+    /**
+     * Erzeugt einen neuen {@code CSVReader}, der CSV-Dateien nach
+     * <a href="https://www.rfc-editor.org/rfc/rfc4180">RFC 4180</a> mit dem
+     * übergebenen Trennzeichen einliest.
+     * Elemente, die in das übergebene Anführungszeichen eingeschlossen sind,
+     * dürfen das Trennzeichen und Zeilenumbrüche enthalten.
+     *
+     * @param separator das Zeichen, an dem eine Zeile der CSV-Datei geteilt
+     *                  werden soll
+     * @param quote     das Zeichen, mit dem Elemente eingeschlossen werden,
+     *                  üblicherweise {@code '"'}
+     *
+     * @throws IllegalArgumentException falls Trennzeichen und
+     *                                  Anführungszeichen übereinstimmen
+     *
+     * @see CSVTokenizer#CSVTokenizer(java.io.Reader, char, char)
+     */
+    public CSVReader(char separator, char quote) {
+        if (quote == separator) {
+            throw new IllegalArgumentException(String.format(
+                "Trennzeichen und Anführungszeichen sind identisch: %c",
+                quote));
+        }
+        this.separator = separator;
+        this.quote = quote;
+        this.quoting = true;
+    }
+
+    /**
+     * Erzeugt einen neuen {@code CSVReader}, der die Zeilen einer CSV-Datei an
+     * den Treffern des übergebenen regulären Ausdrucks teilt.
+     *
+     * @param separator der reguläre Ausdruck, an dem eine Zeile der CSV-Datei
+     *                  geteilt werden soll
+     */
+    public CSVReader(Pattern separator) {
+        this.pattern = separator;
+    }
+
+    private CSVReader(CSVReader other) {
+        this.separator = other.separator;
+        this.pattern = other.pattern;
+        this.quote = other.quote;
+        this.quoting = other.quoting;
+    }
+
+    /**
+     * Legt fest, dass die erste nichtleere Zeile jeder CSV-Datei eine
+     * Kopfzeile mit den Namen der Spalten ist.
+     * Die Kopfzeile wird beim Einlesen übersprungen.
+     *
+     * @return diesen {@code CSVReader}
+     */
+    public CSVReader withHeader() {
+        header = Header.PRESENT;
+        return this;
+    }
+
+    /**
+     * Legt fest, dass für jede CSV-Datei anhand ihrer ersten nichtleeren
+     * Zeile entschieden wird, ob sie eine Kopfzeile hat.
+     * Die erste Zeile gilt hierbei genau dann als Kopfzeile, wenn keines
+     * ihrer Elemente eine Zahl ist.
+     * Dateien, deren Datenzeilen nur aus Text bestehen, sollten daher
+     * {@link #withHeader()} verwenden.
+     *
+     * @return diesen {@code CSVReader}
+     */
+    public CSVReader detectHeader() {
+        header = Header.DETECT;
+        return this;
+    }
+
+    /**
+     * Wählt die Spalten mit den übergebenen Namen aus der Kopfzeile aus.
+     * Jede eingelesene Zeile enthält anschließend nur noch die Elemente
+     * dieser Spalten in der übergebenen Reihenfolge.
+     * Wurde weder {@link #withHeader()} noch {@link #detectHeader()}
+     * aufgerufen, so wird die erste nichtleere Zeile als Kopfzeile verwendet.
+     * <br>
+     * Ob alle Namen in der Kopfzeile vorkommen, wird erst beim Einlesen einer
+     * Datei geprüft.
+     * Fehlt ein Name oder hat die Datei keine Kopfzeile, so wird dort eine
+     * {@link IllegalArgumentException} geworfen.
+     *
+     * @param names die Namen der zu wählenden Spalten
+     *
+     * @return diesen {@code CSVReader}
+     *
+     * @throws IllegalArgumentException falls keine Spalte übergeben wird
+     */
+    public CSVReader select(String... names) {
+        if (names.length == 0) {
+            throw new IllegalArgumentException("Keine Spalte gewählt");
+        }
+        columnNames = names.clone();
+        columns = null;
+        return this;
+    }
+
+    /**
+     * Wählt die Spalten an den übergebenen Positionen aus, wobei die erste
+     * Spalte die Position {@code 0} hat.
+     * Jede eingelesene Zeile enthält anschließend nur noch die Elemente
+     * dieser Spalten in der übergebenen Reihenfolge.
+     * Fehlt einer Zeile eine der gewählten Spalten, so endet sie vor dem
+     * Element dieser Spalte.
+     *
+     * @param indices die Positionen der zu wählenden Spalten
+     *
+     * @return diesen {@code CSVReader}
+     *
+     * @throws IllegalArgumentException falls keine Spalte übergeben wird oder
+     *                                  eine Position negativ ist
+     */
+    public CSVReader select(int... indices) {
+        if (indices.length == 0) {
+            throw new IllegalArgumentException("Keine Spalte gewählt");
+        }
+        for (var index : indices) {
+            if (index < 0) {
+                throw new IllegalArgumentException(
+                    String.format("Ungültige Spalte: %d", index));
+            }
+        }
+        columns = indices.clone();
+        columnNames = null;
+        return this;
+    }
+
     /**
      * Verwendet diesen {@code CSVReader} um eine CSV-Datei einzulesen.
      * Leerzeilen werden hierbei ignoriert.
@@ -45,11 +250,478 @@ public class CSVReader {
      * @return ein zweidimensionales {@code String}-Array, wobei in Eintrag
      *         {@code [i][j]} das j-te Element der i-ten Zeile gespeichert ist
      * @throws IOException falls beim Öffnen der Datei ein Fehler auftritt 
+     *
+     * @see #streamFile(File)
+     * @see #readFile(File, Consumer)
      */
     public String[][] readFile(File csvFile) throws IOException {
-        return Files.readAllLines(csvFile.toPath()).stream()
-            .filter(not(String::isBlank))
-            .map(line -> line.strip().split(separator))
-            .toArray(String[][]::new);
+        return readFile(DataSource.of(csvFile));
+    }
+
+    /**
+     * Verwendet diesen {@code CSVReader} um eine CSV-Datei aus der
+     * übergebenen Quelle einzulesen.
+     * Leerzeilen werden hierbei ignoriert.
+     *
+     * @param source die Quelle der einzulesenden CSV-Datei
+     * @return ein zweidimensionales {@code String}-Array, wobei in Eintrag
+     *         {@code [i][j]} das j-te Element der i-ten Zeile gespeichert ist
+     * @throws IOException falls beim Öffnen der Quelle ein Fehler auftritt
+     */
+    public String[][] readFile(DataSource source) throws IOException {
+        try (var rows = streamFile(source)) {
+            return rows.toArray(String[][]::new);
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        }
+    }
+
+    /**
+     * Verwendet diesen {@code CSVReader} um eine CSV-Datei zeilenweise
+     * einzulesen und übergibt die Elemente jeder nichtleeren Zeile an die
+     * übergebene Aktion.
+     * Die Datei wird hierbei durch einen Puffer fester Größe gelesen, sodass
+     * sich nie mehr als eine Zeile gleichzeitig im Speicher befinden muss.
+     *
+     * @param csvFile die einzulesende CSV-Datei
+     * @param action  die Aktion, die für jede Zeile in der Reihenfolge der
+     *                Datei ausgeführt werden soll
+     * @throws IOException falls beim Lesen der Datei ein Fehler auftritt
+     */
+    public void readFile(File csvFile, Consumer<? super String[]> action)
+        throws IOException {
+        readFile(DataSource.of(csvFile), action);
+    }
+
+    /**
+     * Verwendet diesen {@code CSVReader} um eine CSV-Datei aus der
+     * übergebenen Quelle zeilenweise einzulesen, wie
+     * {@link #readFile(File, Consumer)}.
+     *
+     * @param source die Quelle der einzulesenden CSV-Datei
+     * @param action die Aktion, die für jede Zeile in der Reihenfolge der
+     *               Datei ausgeführt werden soll
+     * @throws IOException falls beim Lesen der Quelle ein Fehler auftritt
+     */
+    public void readFile(DataSource source,
+        Consumer<? super String[]> action) throws IOException {
+        readFile(source, action, (LoadMetrics) null);
+    }
+
+    /**
+     * Verwendet diesen {@code CSVReader} um eine CSV-Datei aus der
+     * übergebenen Quelle zeilenweise einzulesen, wie
+     * {@link #readFile(File, Consumer)}, und misst dabei den Ladevorgang.
+     * Die Zeit, die die Aktion benötigt, wird hierbei als Zeit des Parsens
+     * gezählt.
+     *
+     * @param source     die Quelle der einzulesenden CSV-Datei
+     * @param action     die Aktion, die für jede Zeile in der Reihenfolge der
+     *                   Datei ausgeführt werden soll
+     * @param statistics die Statistik, in die die Messwerte übernommen werden
+     * @throws IOException falls beim Lesen der Quelle ein Fehler auftritt
+     */
+    public void readFile(DataSource source, Consumer<? super String[]> action,
+        LoadStatistics statistics) throws IOException {
+        var metrics = new LoadMetrics();
+        readFile(source, action, metrics);
+        statistics.record(metrics, source);
+    }
+
+    void readFile(DataSource source, Consumer<? super String[]> action,
+        LoadMetrics metrics) throws IOException {
+        if (pattern == null) {
+            try (var tokenizer = tokenize(source, metrics)) {
+                while (tokenizer.nextRow()) {
+                    accept(action, tokenizer.getFields(null), metrics);
+                }
+            }
+            return;
+        }
+
+        try (var input = new BufferedReader(open(source, metrics),
+            BUFFER_SIZE)) {
+            var first = firstRow(input);
+            if (first == null) {
+                return;
+            }
+
+            var selection = selection(first);
+            if (!isHeader(first)) {
+                accept(action, project(first, selection), metrics);
+            }
+
+            String line;
+            while ((line = input.readLine()) != null) {
+                if (!line.isBlank()) {
+                    accept(action, project(split(line), selection), metrics);
+                }
+            }
+        }
+    }
+
+    private static void accept(Consumer<? super String[]> action,
+        String[] row, LoadMetrics metrics) {
+        if (metrics == null) {
+            action.accept(row);
+            return;
+        }
+
+        var time = System.nanoTime();
+        action.accept(row);
+        metrics.parseTime += System.nanoTime() - time;
+        metrics.rowsParsed++;
+    }
+
+    /**
+     * Verwendet diesen {@code CSVReader} um eine CSV-Datei zeilenweise
+     * einzulesen.
+     * Im Gegensatz zu {@link #readFile(File)} wird die Datei hierbei erst beim
+     * Konsumieren des resultierenden {@link Stream}s gelesen, sodass sich nie
+     * mehr als eine Zeile gleichzeitig im Speicher befinden muss.
+     * Leerzeilen werden hierbei ignoriert.
+     * <br>
+     * Der gelieferte {@code Stream} hält die Datei geöffnet und sollte daher
+     * nach der Verwendung geschlossen werden, zum Beispiel mit Hilfe eines
+     * {@code try}-with-resources-Blocks.
+     *
+     * @param csvFile die einzulesende CSV-Datei
+     * @return einen {@code Stream}, der für jede nichtleere Zeile der Datei die
+     *         Elemente dieser Zeile liefert
+     * @throws IOException falls beim Öffnen der Datei ein Fehler auftritt
+     */
+    public Stream<String[]> streamFile(File csvFile) throws IOException {
+        return streamFile(DataSource.of(csvFile));
+    }
+
+    /**
+     * Verwendet diesen {@code CSVReader} um eine CSV-Datei aus der
+     * übergebenen Quelle zeilenweise einzulesen, wie
+     * {@link #streamFile(File)}.
+     *
+     * @param source die Quelle der einzulesenden CSV-Datei
+     * @return einen {@code Stream}, der für jede nichtleere Zeile der Datei die
+     *         Elemente dieser Zeile liefert
+     * @throws IOException falls beim Öffnen der Quelle ein Fehler auftritt
+     */
+    public Stream<String[]> streamFile(DataSource source) throws IOException {
+        if (pattern != null) {
+            var input = new BufferedReader(open(source, null), BUFFER_SIZE);
+
+            Stream<String[]> rows;
+            try {
+                var first = firstRow(input);
+                if (first == null) {
+                    rows = Stream.empty();
+                } else {
+                    var selection = selection(first);
+                    Stream<String[]> remaining = input.lines()
+                        .filter(not(String::isBlank))
+                        .map(this::split);
+                    if (!isHeader(first)) {
+                        remaining = Stream.concat(
+                            Stream.<String[]>of(first), remaining);
+                    }
+                    rows = remaining.map(row -> project(row, selection));
+                }
+            } catch (IOException | RuntimeException e) {
+                input.close();
+                throw e;
+            }
+
+            return rows.onClose(() -> {
+                try {
+                    input.close();
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            });
+        }
+
+        var tokenizer = tokenize(source);
+
+        var rows = new Spliterators.AbstractSpliterator<String[]>(
+            Long.MAX_VALUE, Spliterator.ORDERED | Spliterator.NONNULL) {
+            @Override
+            public boolean tryAdvance(Consumer<? super String[]> action) {
+                try {
+                    if (!tokenizer.nextRow()) {
+                        return false;
+                    }
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+                action.accept(tokenizer.getFields(null));
+                return true;
+            }
+        };
+
+        return StreamSupport.stream(rows, false).onClose(() -> {
+            try {
+                tokenizer.close();
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        });
+    }
+
+    /**
+     * Öffnet einen {@link CSVTokenizer} für die übergebene CSV-Datei, der
+     * deren Zeilen am Trennzeichen dieses {@code CSVReader}s zerlegt.
+     *
+     * @param csvFile die einzulesende CSV-Datei
+     * @return einen {@code CSVTokenizer} über dem Inhalt der Datei
+     * @throws IOException falls beim Öffnen der Datei ein Fehler auftritt
+     * @throws IllegalStateException falls dieser {@code CSVReader} mit einem
+     *                               regulären Ausdruck arbeitet
+     */
+    public CSVTokenizer tokenize(File csvFile) throws IOException {
+        return tokenize(DataSource.of(csvFile));
+    }
+
+    /**
+     * Öffnet einen {@link CSVTokenizer} für die übergebene Quelle, der
+     * deren Zeilen am Trennzeichen dieses {@code CSVReader}s zerlegt.
+     *
+     * @param source die Quelle der einzulesenden CSV-Datei
+     * @return einen {@code CSVTokenizer} über dem Inhalt der Quelle
+     * @throws IOException falls beim Öffnen der Quelle ein Fehler auftritt
+     * @throws IllegalStateException falls dieser {@code CSVReader} mit einem
+     *                               regulären Ausdruck arbeitet
+     */
+    public CSVTokenizer tokenize(DataSource source) throws IOException {
+        return tokenize(source, null);
+    }
+
+    CSVTokenizer tokenize(DataSource source, LoadMetrics metrics)
+        throws IOException {
+        if (pattern != null) {
+            throw new IllegalStateException(
+                "Der CSVReader verwendet einen regulären Ausdruck");
+        }
+        var input = open(source, metrics);
+        var tokenizer = quoting
+            ? new CSVTokenizer(input, separator, quote)
+            : new CSVTokenizer(input, separator);
+
+        try {
+            prepare(tokenizer);
+        } catch (IOException | RuntimeException e) {
+            tokenizer.close();
+            throw e;
+        }
+        return tokenizer;
+    }
+
+    private void prepare(CSVTokenizer tokenizer) throws IOException {
+        if (headerMode() == Header.ABSENT) {
+            if (columns != null) {
+                tokenizer.select(columns);
+            }
+            return;
+        }
+
+        if (!tokenizer.nextRow()) {
+            return;
+        }
+
+        var first = tokenizer.getFields(null);
+        var selection = selection(first);
+        if (selection != null) {
+            tokenizer.select(selection);
+        }
+        if (!isHeader(first)) {
+            tokenizer.replay();
+        }
+    }
+
+    /**
+     * Verwendet diesen {@code CSVReader} um eine CSV-Datei anhand des
+     * übergebenen Schemas spaltenweise einzulesen.
+     * Leerzeilen werden hierbei ignoriert.
+     *
+     * @param csvFile die einzulesende CSV-Datei
+     * @param schema  das Schema, das die Typen der Spalten beschreibt
+     * @return einen {@link ColumnBuffer} mit den Werten aller Zeilen
+     * @throws IOException falls beim Lesen der Datei ein Fehler auftritt
+     */
+    public ColumnBuffer readColumns(File csvFile, RowSchema schema)
+        throws IOException {
+        return readColumns(DataSource.of(csvFile), schema);
+    }
+
+    /**
+     * Verwendet diesen {@code CSVReader} um eine CSV-Datei aus der
+     * übergebenen Quelle anhand des übergebenen Schemas spaltenweise
+     * einzulesen.
+     * Leerzeilen werden hierbei ignoriert.
+     *
+     * @param source die Quelle der einzulesenden CSV-Datei
+     * @param schema das Schema, das die Typen der Spalten beschreibt
+     * @return einen {@link ColumnBuffer} mit den Werten aller Zeilen
+     * @throws IOException falls beim Lesen der Quelle ein Fehler auftritt
+     */
+    public ColumnBuffer readColumns(DataSource source, RowSchema schema)
+        throws IOException {
+        var columns = new ColumnBuffer(schema);
+
+        if (pattern == null) {
+            try (var tokenizer = tokenize(source)) {
+                while (tokenizer.nextRow()) {
+                    columns.append(tokenizer);
+                }
+            }
+        } else {
+            readFile(source, columns::append);
+        }
+
+        return columns;
+    }
+
+    boolean isTokenizing() {
+        return pattern == null;
+    }
+
+    int getQuote() {
+        return quoting ? quote : -1;
+    }
+
+    boolean isSplittable() {
+        return pattern == null && !quoting && headerMode() == Header.ABSENT;
+    }
+
+    CSVTokenizer tokenize(char[] content, int length) {
+        var tokenizer = new CSVTokenizer(content, length, separator);
+        if (columns != null) {
+            tokenizer.select(columns);
+        }
+        return tokenizer;
+    }
+
+    String describe() {
+        var separators = pattern != null
+            ? pattern.pattern()
+            : quoting
+            ? String.valueOf(new char[] {separator, quote})
+            : String.valueOf(separator);
+        var selection = columnNames != null
+            ? String.join(",", columnNames)
+            : Arrays.toString(columns);
+        return String.join("\n", separators, headerMode().name(), selection);
+    }
+
+    CSVReader headless(DataSource source) throws IOException {
+        if (headerMode() == Header.ABSENT) {
+            return this;
+        }
+
+        String[] first;
+        if (pattern == null) {
+            try (var tokenizer = new CSVReader(this).tokenize(source)) {
+                first = tokenizer.nextRow() ? tokenizer.getFields(null) : null;
+            }
+        } else {
+            try (var input = new BufferedReader(open(source, null))) {
+                first = firstRow(input);
+            }
+        }
+
+        var copy = new CSVReader(this);
+        copy.columns = first == null ? resolve(null) : selection(first);
+        return copy;
+    }
+
+    private Header headerMode() {
+        return header == Header.ABSENT && columnNames != null
+            ? Header.PRESENT
+            : header;
+    }
+
+    private boolean isHeader(String[] first) {
+        switch (headerMode()) {
+            case PRESENT:
+                return true;
+            case DETECT:
+                for (var field : first) {
+                    var chars = field.toCharArray();
+                    var value = DoubleParser.parse(chars, 0, chars.length);
+                    if (!Double.isNaN(value)
+                        || DoubleParser.isNaN(chars, 0, chars.length)) {
+                        return false;
+                    }
+                }
+                return true;
+            default:
+                return false;
+        }
+    }
+
+    private int[] selection(String[] first) {
+        return resolve(isHeader(first) ? first : null);
+    }
+
+    private int[] resolve(String[] names) {
+        if (columnNames == null) {
+            return columns;
+        }
+        if (names == null) {
+            throw new IllegalArgumentException(
+                "Die Datei hat keine Kopfzeile mit den gewählten Spalten");
+        }
+
+        var indices = new int[columnNames.length];
+        for (var i = 0; i < columnNames.length; i++) {
+            indices[i] = -1;
+            for (var j = 0; j < names.length && indices[i] < 0; j++) {
+                if (names[j].strip().equals(columnNames[i])) {
+                    indices[i] = j;
+                }
+            }
+            if (indices[i] < 0) {
+                throw new IllegalArgumentException(String.format(
+                    "Unbekannte Spalte: %s", columnNames[i]));
+            }
+        }
+        return indices;
+    }
+
+    private String[] firstRow(BufferedReader input) throws IOException {
+        String line;
+        while ((line = input.readLine()) != null) {
+            if (!line.isBlank()) {
+                return split(line);
+            }
+        }
+        return null;
+    }
+
+    private static String[] project(String[] row, int[] selection) {
+        if (selection == null) {
+            return row;
+        }
+
+        var count = selection.length;
+        for (var i = 0; i < selection.length; i++) {
+            if (selection[i] >= row.length) {
+                count = i;
+                break;
+            }
+        }
+
+        var projected = new String[count];
+        for (var i = 0; i < count; i++) {
+            projected[i] = row[selection[i]];
+        }
+        return projected;
+    }
+
+    private static InputStreamReader open(DataSource source,
+        LoadMetrics metrics) throws IOException {
+        return new InputStreamReader(source.open(metrics),
+            StandardCharsets.UTF_8);
+    }
+
+    private String[] split(String line) {
+        return pattern.split(line.strip());
     }
 }
@@ -0,0 +1,212 @@
+package classification.io;
+
+import java.time.Duration;
+
+/**
+ * Sammelt Messwerte über das Laden von Datensätzen, um zu erkennen, ob das
+ * Lesen der Datei, das Zerlegen der Zeilen oder das Parsen der Datenpunkte
+ * den größten Anteil an der Ladezeit hat.
+ * <br>
+ * Ein {@code LoadStatistics}-Objekt wird einem Ladevorgang übergeben, zum
+ * Beispiel mit {@link CSVDatasetLoader#loadDataset(LoadStatistics)}, und
+ * enthält nach dessen Ende die Summe der Messwerte aller Ladevorgänge, denen
+ * es übergeben wurde.
+ * Die Zeit eines Ladevorgangs teilt sich hierbei auf in
+ * <ul>
+ *   <li>die Ein- und Ausgabe, also das Lesen und gegebenenfalls Entpacken
+ *       der Bytes,</li>
+ *   <li>das Zerlegen, also das Dekodieren der Zeichen und das Zerlegen der
+ *       Zeilen in ihre Elemente,</li>
+ *   <li>das Parsen, also das Umwandeln der Elemente in Datenpunkte
+ *       einschließlich des Einfügens in den Datensatz, und</li>
+ *   <li>das Warten darauf, dass ein Verbraucher, zum Beispiel der Iterator
+ *       eines {@link PrefetchingDatasetLoader}s, wieder Platz für weitere
+ *       Datenpunkte geschaffen hat.</li>
+ * </ul>
+ * Die Zeit des Zerlegens wird nicht direkt gemessen, sondern ergibt sich aus
+ * der gesamten Zeit abzüglich der übrigen Anteile.
+ * <br>
+ * Wird kein {@code LoadStatistics}-Objekt übergeben, so wird nichts gemessen.
+ * Andernfalls kostet die Messung zwei Aufrufe von {@link System#nanoTime()}
+ * je Zeile.
+ * <br>
+ * Läuft eine Aufzeichnung des Java Flight Recorders, so wird jeder gemessene
+ * Ladevorgang zusätzlich als Ereignis {@code classification.io.Load}
+ * aufgezeichnet.
+ *
+ * @author Kim Berninger
+ * @version 1.1.0
+ */
+public final class LoadStatistics {
+    private long loadCount;
+    private long bytesRead;
+    private long rowsParsed;
+    private long rowsRejected;
+    private long wallTime;
+    private long ioTime;
+    private long tokenizeTime;
+    private long parseTime;
+    private long waitTime;
+    private long peakBufferedRows;
+
+    /**
+     * Liefert die Anzahl der gemessenen Ladevorgänge.
+     *
+     * @return die Anzahl der Ladevorgänge
+     */
+    public synchronized long getLoadCount() {
+        return loadCount;
+    }
+
+    /**
+     * Liefert die Anzahl der gelesenen Bytes.
+     * Bei komprimierten Dateien ist dies die Größe der komprimierten Daten.
+     *
+     * @return die Anzahl der gelesenen Bytes
+     */
+    public synchronized long getBytesRead() {
+        return bytesRead;
+    }
+
+    /**
+     * Liefert die Anzahl der Zeilen, die erfolgreich in einen Datenpunkt
+     * umgewandelt wurden.
+     *
+     * @return die Anzahl der geparsten Zeilen
+     */
+    public synchronized long getRowsParsed() {
+        return rowsParsed;
+    }
+
+    /**
+     * Liefert die Anzahl der Zeilen, die von einem
+     * {@link TolerantCSVDatasetLoader} verworfen wurden.
+     *
+     * @return die Anzahl der verworfenen Zeilen
+     */
+    public synchronized long getRowsRejected() {
+        return rowsRejected;
+    }
+
+    /**
+     * Liefert die gesamte Dauer der Ladevorgänge.
+     *
+     * @return die gesamte Dauer
+     */
+    public synchronized Duration getWallTime() {
+        return Duration.ofNanos(wallTime);
+    }
+
+    /**
+     * Liefert die Zeit, die mit dem Lesen und Entpacken der Bytes verbracht
+     * wurde.
+     *
+     * @return die Dauer der Ein- und Ausgabe
+     */
+    public synchronized Duration getIoTime() {
+        return Duration.ofNanos(ioTime);
+    }
+
+    /**
+     * Liefert die Zeit, die mit dem Dekodieren und Zerlegen der Zeilen
+     * verbracht wurde.
+     *
+     * @return die Dauer des Zerlegens
+     */
+    public synchronized Duration getTokenizeTime() {
+        return Duration.ofNanos(tokenizeTime);
+    }
+
+    /**
+     * Liefert die Zeit, die mit dem Umwandeln der Zeilen in Datenpunkte
+     * verbracht wurde.
+     *
+     * @return die Dauer des Parsens
+     */
+    public synchronized Duration getParseTime() {
+        return Duration.ofNanos(parseTime);
+    }
+
+    /**
+     * Liefert die Zeit, die auf einen Verbraucher der Datenpunkte gewartet
+     * wurde.
+     *
+     * @return die Dauer des Wartens
+     */
+    public synchronized Duration getWaitTime() {
+        return Duration.ofNanos(waitTime);
+    }
+
+    /**
+     * Liefert die größte Anzahl geparster Datenpunkte, die gleichzeitig
+     * gepuffert wurden, bevor sie an ihren Verbraucher übergeben wurden.
+     * Beim Laden eines vollständigen Datensatzes entspricht dies seiner
+     * Größe.
+     *
+     * @return die größte Anzahl gepufferter Datenpunkte
+     */
+    public synchronized long getPeakBufferedRows() {
+        return peakBufferedRows;
+    }
+
+    /**
+     * Liefert die Anzahl der geparsten Zeilen je Sekunde.
+     *
+     * @return den Durchsatz in Zeilen je Sekunde
+     */
+    public synchronized double getRowsPerSecond() {
+        return wallTime == 0 ? 0 : 1e9 * rowsParsed / wallTime;
+    }
+
+    /**
+     * Liefert die Anzahl der gelesenen Bytes je Sekunde.
+     *
+     * @return den Durchsatz in Bytes je Sekunde
+     */
+    public synchronized double getBytesPerSecond() {
+        return wallTime == 0 ? 0 : 1e9 * bytesRead / wallTime;
+    }
+
+    synchronized void record(LoadMetrics metrics, DataSource source) {
+        var wall = System.nanoTime() - metrics.start;
+        var parse = metrics.parseTime - metrics.waitTime;
+        var tokenize = Math.max(0, wall - metrics.ioTime - metrics.parseTime);
+
+        loadCount++;
+        bytesRead += metrics.bytesRead;
+        rowsParsed += metrics.rowsParsed;
+        rowsRejected += metrics.rowsRejected;
+        wallTime += wall;
+        ioTime += metrics.ioTime;
+        tokenizeTime += tokenize;
+        parseTime += parse;
+        waitTime += metrics.waitTime;
+        peakBufferedRows = Math.max(peakBufferedRows, metrics.peakBufferedRows);
+
+        var event = metrics.event;
+        event.end();
+        if (event.shouldCommit()) {
+            event.source = source.getName();
+            event.bytesRead = metrics.bytesRead;
+            event.rowsParsed = metrics.rowsParsed;
+            event.rowsRejected = metrics.rowsRejected;
+            event.ioTime = metrics.ioTime;
+            event.tokenizeTime = tokenize;
+            event.parseTime = parse;
+            event.waitTime = metrics.waitTime;
+            event.peakBufferedRows = metrics.peakBufferedRows;
+            event.commit();
+        }
+    }
+
+    @Override
+    public synchronized String toString() {
+        return String.format("%d Zeilen (%d verworfen), %d Bytes in %d ms "
+            + "(%.0f Zeilen/s, %.1f MB/s): E/A %d ms, Zerlegen %d ms, "
+            + "Parsen %d ms, Warten %d ms, höchstens %d gepuffert",
+            rowsParsed, rowsRejected, bytesRead, wallTime / 1_000_000,
+            getRowsPerSecond(), getBytesPerSecond() / 1e6,
+            ioTime / 1_000_000, tokenizeTime / 1_000_000,
+            parseTime / 1_000_000, waitTime / 1_000_000, peakBufferedRows);
+    }
+}
@@ -40,6 +40,21 @@ public class Vector {
         return data.length;
     }
 
+    /**
+     * Liefert die Komponente dieses Vektors mit dem übergebenen Index.
+     *
+     * @param index der Index der Komponente, beginnend bei {@code 0}
+     *
+     * @return den Wert der Komponente
+     *
+     * @throws IndexOutOfBoundsException wenn der Index nicht zwischen
+     *                                   {@code 0} und
+     *                                   {@code getDimension() - 1} liegt
+     */
+    public double get(int index) {
+        return data[index];
+    }
+
     /**
      * Erzeugt eine Kopie dieses Vektors mit derselben Dimension und denselben
      * Komponenten.
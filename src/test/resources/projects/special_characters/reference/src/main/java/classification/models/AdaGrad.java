@@ -0,0 +1,34 @@
+package classification.models;
+
+/**
+ * Das Verfahren AdaGrad von Duchi, Hazan und Singer, das die Lernrate jeder
+ * Komponente durch die Wurzel der Summe ihrer bisherigen quadrierten
+ * Subgradienten teilt.
+ * Komponenten, die selten oder mit kleinen Werten vorkommen, werden dadurch
+ * mit größeren Schritten angepasst, was schlecht skalierte Features wie
+ * Worthäufigkeiten ausgleicht.
+ * <br>
+ * Da eine Komponente ohne Subgradient ihre Summe nicht verändert, ist das
+ * Verfahren ohne weiteres Zutun dünnbesetzt.
+ *
+ * @author Kim Berninger
+ * @version 1.1.0
+ */
+public final class AdaGrad extends Optimizer {
+    private double[] sums;
+    private double eta;
+
+    @Override
+    void prepare(int dimension, long step, double eta) {
+        if (sums == null || sums.length != dimension + 1) {
+            sums = new double[dimension + 1];
+        }
+        this.eta = eta;
+    }
+
+    @Override
+    double delta(int index, double direction) {
+        sums[index] += direction * direction;
+        return eta * direction / (Math.sqrt(sums[index]) + EPSILON);
+    }
+}
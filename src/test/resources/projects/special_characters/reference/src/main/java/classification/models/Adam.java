@@ -0,0 +1,93 @@
+package classification.models;
+
+/**
+ * Das Verfahren Adam von Kingma und Ba, das für jede Komponente gleitende
+ * Mittelwerte des Subgradienten und seines Quadrats führt und die Gewichte
+ * um den korrigierten ersten durch die Wurzel des korrigierten zweiten
+ * Mittelwerts verschiebt.
+ * <br>
+ * Es handelt sich um die Variante LazyAdam, angewandt auf die Schritte der
+ * Hinge-Loss: Die Mittelwerte und Gewichte werden nur in Schritten mit einem
+ * Datenpunkt innerhalb des Randes und dort nur in den Komponenten
+ * fortgeschrieben, in denen der Subgradient von Null verschieden ist.
+ * Ein Schritt kostet dadurch bei dünnbesetzten Daten nur {@code O(nnz)}.
+ * Die Regularisierung wird hiervon unabhängig wie beim einfachen
+ * stochastischen Gradientenverfahren angewandt.
+ * <br>
+ * Anders als beim ursprünglichen Verfahren bewegt der abklingende erste
+ * Mittelwert die Gewichte in ausgelassenen Schritten nicht weiter.
+ * Zudem richtet sich die Korrektur der Mittelwerte nach der Anzahl aller
+ * Schritte, obwohl die Mittelwerte nur in aktualisierten Schritten
+ * fortgeschrieben werden.
+ * Das Ergebnis weicht daher auch bei dichten Daten vom ursprünglichen
+ * Verfahren ab.
+ *
+ * @author Kim Berninger
+ * @version 1.1.0
+ */
+public final class Adam extends Optimizer {
+    private static final double DEFAULT_BETA1 = 0.9;
+    private static final double DEFAULT_BETA2 = 0.999;
+
+    private final double beta1;
+    private final double beta2;
+
+    private double[] means;
+    private double[] squares;
+    private double eta;
+    private double correction1;
+    private double correction2;
+
+    /**
+     * Erzeugt ein Adam-Verfahren mit den Abklingfaktoren
+     * {@value #DEFAULT_BETA1} und {@value #DEFAULT_BETA2}.
+     */
+    public Adam() {
+        this(DEFAULT_BETA1, DEFAULT_BETA2);
+    }
+
+    /**
+     * Erzeugt ein Adam-Verfahren mit den übergebenen Abklingfaktoren.
+     *
+     * @param beta1 der Abklingfaktor des Mittelwerts der Subgradienten
+     * @param beta2 der Abklingfaktor des Mittelwerts ihrer Quadrate
+     *
+     * @throws IllegalArgumentException falls einer der Faktoren nicht
+     *                                  zwischen {@code 0} und {@code 1}
+     *                                  liegt
+     */
+    public Adam(double beta1, double beta2) {
+        if (!(beta1 >= 0 && beta1 < 1)) {
+            throw new IllegalArgumentException(
+                String.format("Ungültiger Abklingfaktor: %s", beta1));
+        }
+        if (!(beta2 >= 0 && beta2 < 1)) {
+            throw new IllegalArgumentException(
+                String.format("Ungültiger Abklingfaktor: %s", beta2));
+        }
+        this.beta1 = beta1;
+        this.beta2 = beta2;
+    }
+
+    @Override
+    void prepare(int dimension, long step, double eta) {
+        if (means == null || means.length != dimension + 1) {
+            means = new double[dimension + 1];
+            squares = new double[dimension + 1];
+        }
+        this.eta = eta;
+        correction1 = 1 - Math.pow(beta1, step + 1);
+        correction2 = 1 - Math.pow(beta2, step + 1);
+    }
+
+    @Override
+    double delta(int index, double direction) {
+        var mean = beta1 * means[index] + (1 - beta1) * direction;
+        var square = beta2 * squares[index]
+            + (1 - beta2) * direction * direction;
+        means[index] = mean;
+        squares[index] = square;
+        return eta * (mean / correction1)
+            / (Math.sqrt(square / correction2) + EPSILON);
+    }
+}
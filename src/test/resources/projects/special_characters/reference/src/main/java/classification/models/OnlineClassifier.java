@@ -0,0 +1,68 @@
+package classification.models;
+
+import classification.data.BinaryLabel;
+import classification.data.Sample;
+import classification.data.SupervisedSample;
+
+/**
+ * Dieses Interface definiert einen binären Klassifizierer, der schrittweise
+ * mit einzelnen Datenpunkten oder kleinen Stapeln trainiert werden kann.
+ * <br>
+ * Anders als beim Training über vollständige Epochen wird das Modell hierbei
+ * nicht neu trainiert, sondern ausgehend von seinem aktuellen Zustand
+ * fortgeschrieben.
+ * Dies erlaubt es, ein Modell mit Datenpunkten aus einer fortlaufenden Quelle
+ * zu trainieren, zum Beispiel mit einem {@link classification.io.CSVTail}:
+ * <blockquote>
+ *   <pre><code>
+ *var tail = new CSVTail&lt;&gt;(loader, classifier::partialFit);
+ *   </code></pre>
+ * </blockquote>
+ *
+ * @author Kim Berninger
+ * @version 1.1.0
+ *
+ * @param <S> der Subtyp von {@link Sample}, dem die Elemente, mit denen dieser
+ *            Klassifizierer trainiert werden soll, entsprechen sollen
+ *
+ * @see LinearSVM
+ */
+public interface OnlineClassifier<S extends Sample<? super S>> {
+    /**
+     * Führt einen Trainingsschritt mit dem übergebenen Datenpunkt aus.
+     *
+     * @param sample der beschriftete Datenpunkt
+     *
+     * @return den Verlust des Datenpunktes vor dem Trainingsschritt
+     */
+    double partialFit(SupervisedSample<? extends S, BinaryLabel> sample);
+
+    /**
+     * Führt für jeden Datenpunkt des übergebenen Stapels der Reihe nach einen
+     * Trainingsschritt aus.
+     *
+     * @param batch die beschrifteten Datenpunkte
+     *
+     * @return den mittleren Verlust der Datenpunkte vor ihrem jeweiligen
+     *         Trainingsschritt oder {@code 0}, falls der Stapel leer ist
+     */
+    default double partialFit(
+        Iterable<? extends SupervisedSample<? extends S, BinaryLabel>> batch) {
+        var loss = 0.0;
+        var count = 0;
+        for (var sample : batch) {
+            loss += partialFit(sample);
+            count++;
+        }
+        return count == 0 ? 0 : loss / count;
+    }
+
+    /**
+     * Sagt das Label des übergebenen Datenpunktes voraus.
+     *
+     * @param sample der zu klassifizierende Datenpunkt
+     *
+     * @return das vorhergesagte Label
+     */
+    BinaryLabel predict(S sample);
+}
@@ -0,0 +1,60 @@
+package classification.models;
+
+import java.util.Random;
+
+/**
+ * Ein Verfahren, mit dem {@link LinearSVM#fit} die Epochen des Trainings
+ * ausführt.
+ * Ein {@code Trainer} wird mit {@link LinearSVM#withTrainer(Trainer)}
+ * ausgewählt und verändert die Gewichte, den Bias und den Schrittzähler der
+ * SVM direkt.
+ * <br>
+ * Unterklassen können nur innerhalb dieses Pakets definiert werden.
+ *
+ * @author Kim Berninger
+ * @version 1.1.0
+ *
+ * @see SGDTrainer
+ * @see MiniBatchTrainer
+ * @see HogwildTrainer
+ * @see PegasosTrainer
+ * @see DualCoordinateDescentTrainer
+ */
+public abstract class Trainer {
+    Trainer() {
+    }
+
+    /**
+     * Führt eine Epoche auf dem Trainingsdatensatz aus.
+     *
+     * @param svm    die zu trainierende SVM
+     * @param data   der Trainingsdatensatz
+     * @param random der Zufallszahlengenerator der SVM
+     *
+     * @return den mittleren Hinge-Verlust der Datenpunkte vor ihrem jeweiligen
+     *         Trainingsschritt
+     */
+    abstract double epoch(LinearSVM<?> svm, TrainingSet data, Random random);
+
+    /**
+     * Gibt an, ob das Verfahren nach der letzten Epoche sein Ziel erreicht
+     * hat, sodass weitere Epochen die SVM nicht mehr verändern würden.
+     *
+     * @return {@code true}, falls das Training beendet werden kann
+     */
+    boolean converged() {
+        return false;
+    }
+
+    /**
+     * Gibt an, ob das Verfahren die Gewichte über den {@link Optimizer} der
+     * SVM verändert.
+     * Andernfalls kann die SVM nur mit dem Standardoptimierer trainiert
+     * werden.
+     *
+     * @return {@code true}, falls das Verfahren den Optimierer verwendet
+     */
+    boolean usesOptimizer() {
+        return false;
+    }
+}
@@ -0,0 +1,90 @@
+package classification.models;
+
+import java.util.ArrayList;
+import java.util.Random;
+
+import classification.data.BinaryLabel;
+import classification.data.SupervisedSample;
+import classification.linalg.IncompatibleDimensionsException;
+
+/**
+ * Ein Datensatz, dessen Feature-Vektoren und Labels einmalig in primitive
+ * Arrays übernommen wurden, sodass die Trainingsverfahren dieses Pakets in
+ * jeder Epoche ohne weitere Aufrufe von
+ * {@link classification.data.Sample#getFeatures()} über ihn iterieren können.
+ *
+ * @author Kim Berninger
+ * @version 1.1.0
+ */
+final class TrainingSet {
+    final Features[] features;
+    final double[] labels;
+
+    private double[] frequencies;
+
+    private TrainingSet(Features[] features, double[] labels) {
+        this.features = features;
+        this.labels = labels;
+    }
+
+    static TrainingSet of(
+        Iterable<? extends SupervisedSample<?, BinaryLabel>> data,
+        int dimension) {
+        var features = new ArrayList<Features>();
+        var labels = new ArrayList<Double>();
+        for (var sample : data) {
+            features.add(of(sample, dimension));
+            labels.add(label(sample.getLabel()));
+        }
+
+        var result = new TrainingSet(
+            features.toArray(new Features[0]), new double[labels.size()]);
+        for (var i = 0; i < result.labels.length; i++) {
+            result.labels[i] = labels.get(i);
+        }
+        return result;
+    }
+
+    static Features of(SupervisedSample<?, ?> sample, int dimension) {
+        var features = Features.of(sample);
+        if (features.getDimension() != dimension) {
+            throw new IncompatibleDimensionsException(
+                dimension, features.getDimension());
+        }
+        return features;
+    }
+
+    static double label(BinaryLabel label) {
+        return label == BinaryLabel.POSITIVE ? 1 : -1;
+    }
+
+    int size() {
+        return labels.length;
+    }
+
+    double[] frequencies(int dimension) {
+        if (frequencies == null) {
+            var counts = new double[dimension];
+            for (var sample : features) {
+                for (var k = 0; k < sample.size(); k++) {
+                    counts[sample.index(k)]++;
+                }
+            }
+            for (var i = 0; i < dimension; i++) {
+                counts[i] /= size();
+            }
+            frequencies = counts;
+        }
+        return frequencies;
+    }
+
+    int[] permutation(Random random) {
+        var order = new int[labels.length];
+        for (var i = 0; i < order.length; i++) {
+            var j = random.nextInt(i + 1);
+            order[i] = order[j];
+            order[j] = i;
+        }
+        return order;
+    }
+}